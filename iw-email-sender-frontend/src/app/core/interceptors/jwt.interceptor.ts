@@ -1,44 +1,32 @@
-import { HttpInterceptorFn } from '@angular/common/http';
-import { tap } from 'rxjs/operators';
+import { HttpErrorResponse, HttpInterceptorFn, HttpRequest } from '@angular/common/http';
+import { inject } from '@angular/core';
+import { catchError, switchMap, throwError } from 'rxjs';
+import { AuthService } from '../services/auth';
 
-export const AuthInterceptor: HttpInterceptorFn = (req, next) => {
-
-  console.log('FUNCTIONAL INTERCEPTOR CALLED!');
-  console.log('Request URL:', req.url);
-  console.log('Request method:', req.method);
+const withToken = (req: HttpRequest<unknown>, token: string | null) =>
+  token ? req.clone({ setHeaders: { Authorization: `Bearer ${token}` } }) : req;
 
-  const token = localStorage.getItem('access_token');
-  console.log('Token exists:', !!token);
+export const AuthInterceptor: HttpInterceptorFn = (req, next) => {
+  const authService = inject(AuthService);
 
-  if (token) {
-    console.log('Token preview:', token.substring(0, 30) + '...');
+  if (req.url.includes('/api/auth/')) {
+    return next(req);
+  }
 
-    const authReq = req.clone({
-      setHeaders: {
-        Authorization: `Bearer ${token}`
+  // an expired access token comes back as 401; trade the refresh token for a new pair and retry once
+  return next(withToken(req, authService.getToken())).pipe(
+    catchError((error: HttpErrorResponse) => {
+      if (error.status !== 401 || !authService.getRefreshToken()) {
+        return throwError(() => error);
       }
-    });
-
-    console.log('Authorization header added!');
-    console.log('Request headers:');
-    authReq.headers.keys().forEach(key => {
-      console.log(`  ${key}: ${authReq.headers.get(key)?.substring(0, 50)}...`);
-    });
-
-    return next(authReq).pipe(
-      tap({
-        next: (event) => {
-          console.log('HTTP request successful for:', req.url);
-        },
-        error: (error) => {
-          console.error('HTTP request failed for:', req.url, error);
-        }
-      })
-    );
-  } else {
-    console.log('No token found!');
-  }
 
-  console.log('Proceeding with original request (no token)');
-  return next(req);
+      return authService.refresh().pipe(
+        catchError(refreshError => {
+          authService.logout();
+          return throwError(() => refreshError);
+        }),
+        switchMap(response => next(withToken(req, response.token)))
+      );
+    })
+  );
 };
@@ -1,7 +1,7 @@
 
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable, BehaviorSubject, tap } from 'rxjs';
+import { Observable, BehaviorSubject, tap, finalize, shareReplay } from 'rxjs';
 import { User , Role} from '../../shared/models';
 
 
@@ -10,7 +10,8 @@ export interface LoginRequest {
   password: string;
 }
 interface TokenResponse {
-  accessToken: string;
+  token: string;
+  refreshToken?: string;
 }
 
 @Injectable({
@@ -20,6 +21,7 @@ export class AuthService {
   private apiUrl = 'http://localhost:8080/api/auth';
   private currentUserSubject = new BehaviorSubject<User | null>(null);
   public currentUser$ = this.currentUserSubject.asObservable();
+  private refreshInFlight: Observable<TokenResponse> | null = null;
 
   constructor(private http: HttpClient) {
     this.checkStoredToken();
@@ -27,7 +29,7 @@ export class AuthService {
 
   private checkStoredToken(): void {
     const token = this.getToken();
-    if (token && !this.isTokenExpired(token)) {
+    if (token && (!this.isTokenExpired(token) || this.getRefreshToken())) {
       const user = this.getUserFromToken(token);
       if (user) {
         this.currentUserSubject.next(user);
@@ -37,8 +39,8 @@ export class AuthService {
     }
   }
 
-  login(credentials: LoginRequest): Observable<{ token: string }> {
-    return this.http.post<{ token: string }>(`${this.apiUrl}/login`, credentials)
+  login(credentials: LoginRequest): Observable<TokenResponse> {
+    return this.http.post<TokenResponse>(`${this.apiUrl}/login`, credentials)
       .pipe(
         tap(response => {
           console.log('Login response from backend:', response);
@@ -49,6 +51,7 @@ export class AuthService {
 
           const token = response.token;
           localStorage.setItem('access_token', token);
+          this.storeRefreshToken(response.refreshToken);
 
           const payload = JSON.parse(atob(token.split('.')[1]));
           const roles: Role[] = (payload.roles || []).map((r: string) => ({ name: r }));
@@ -66,15 +69,52 @@ export class AuthService {
       );
   }
 
+  /**
+   * Swaps the stored refresh token for a new access/refresh pair. Concurrent callers share
+   * one request, since the server accepts each refresh token only once.
+   */
+  refresh(): Observable<TokenResponse> {
+    if (!this.refreshInFlight) {
+      this.refreshInFlight = this.http.post<TokenResponse>(`${this.apiUrl}/refresh`, { refreshToken: this.getRefreshToken() })
+        .pipe(
+          tap(response => {
+            localStorage.setItem('access_token', response.token);
+            this.storeRefreshToken(response.refreshToken);
+          }),
+          finalize(() => this.refreshInFlight = null),
+          shareReplay(1)
+        );
+    }
+    return this.refreshInFlight;
+  }
+
+  getRefreshToken(): string | null {
+    return localStorage.getItem('refresh_token');
+  }
+
+  private storeRefreshToken(refreshToken?: string): void {
+    if (refreshToken) {
+      localStorage.setItem('refresh_token', refreshToken);
+    } else {
+      localStorage.removeItem('refresh_token');
+    }
+  }
+
   logout(): void {
+    const refreshToken = this.getRefreshToken();
+    if (refreshToken) {
+      this.http.post(`${this.apiUrl}/logout`, { refreshToken }).subscribe({ error: () => {} });
+    }
+    localStorage.removeItem('refresh_token');
     localStorage.removeItem('access_token');
     localStorage.removeItem('current_user');
     this.currentUserSubject.next(null);
   }
 
+  // an expired access token still counts while a refresh token can renew it
   isLoggedIn(): boolean {
     const token = this.getToken();
-    return token !== null && !this.isTokenExpired(token);
+    return token !== null && (!this.isTokenExpired(token) || this.getRefreshToken() !== null);
   }
 
   getToken(): string | null {
@@ -1,5 +1,5 @@
 import { Injectable } from '@angular/core';
-import {HttpClient, HttpHeaders} from '@angular/common/http';
+import {HttpClient, HttpHeaders, HttpParams} from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 export interface EmailExecution {
@@ -12,6 +12,31 @@ export interface EmailExecution {
   emailJobId: string;
   jobSenderEmail: string;
   jobReceiverEmails: string;
+  deliveries?: EmailDelivery[];
+}
+
+export interface EmailDelivery {
+  id: string;
+  recipient: string;
+  status: 'PENDING' | 'SENT' | 'FAILED';
+  smtpReply: string | null;
+  attemptCount: number;
+  lastAttemptAt: string | null;
+}
+
+export interface ExecutionPage {
+  items: EmailExecution[];
+  nextCursor: string | null;
+  size: number;
+}
+
+export interface ExecutionQuery {
+  status?: 'SUCCESS' | 'FAIL';
+  jobId?: string;
+  from?: string;
+  to?: string;
+  cursor?: string | null;
+  size?: number;
 }
 
 @Injectable({ providedIn: 'root' })
@@ -36,7 +61,21 @@ export class EmailExecutionService {
     console.log('Manual headers created:', headers.keys());
     return headers;
   }
-    getAll(): Observable<EmailExecution[]> {
-    return this.http.get<EmailExecution[]>(this.apiUrl);
+  getPage(query: ExecutionQuery = {}): Observable<ExecutionPage> {
+    return this.http.get<ExecutionPage>(this.apiUrl, { params: this.toParams(query) });
+  }
+
+  getPageByJob(jobId: string, query: ExecutionQuery = {}): Observable<ExecutionPage> {
+    return this.http.get<ExecutionPage>(`${this.apiUrl}/job/${jobId}`, { params: this.toParams(query) });
+  }
+
+  private toParams(query: ExecutionQuery): HttpParams {
+    let params = new HttpParams();
+    Object.entries(query).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, String(value));
+      }
+    });
+    return params;
   }
 }
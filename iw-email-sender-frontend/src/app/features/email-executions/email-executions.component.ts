@@ -46,8 +46,9 @@ import {MatFormFieldModule} from '@angular/material/form-field';
 })
 export class EmailExecutionsComponent implements OnInit {
   executions: EmailExecution[] = [];
-  filteredExecutions: EmailExecution[] = [];
   selectedStatus: string = 'ALL';
+  nextCursor: string | null = null;
+  loading = false;
 
   displayedColumns: string[] = [
     'id', 'executedAt', 'status', 'errorMessage',
@@ -61,17 +62,33 @@ export class EmailExecutionsComponent implements OnInit {
   }
 
   loadExecutions(): void {
-    this.emailExecutionService.getAll().subscribe(data => {
-      this.executions = data;
-      this.applyFilter();
-    });
+    this.executions = [];
+    this.nextCursor = null;
+    this.loadPage();
   }
 
-  applyFilter(): void {
-    if (this.selectedStatus === 'ALL') {
-      this.filteredExecutions = this.executions;
-    } else {
-      this.filteredExecutions = this.executions.filter(e => e.status === this.selectedStatus);
+  loadMore(): void {
+    if (this.nextCursor) {
+      this.loadPage();
     }
   }
+
+  applyFilter(): void {
+    this.loadExecutions();
+  }
+
+  private loadPage(): void {
+    this.loading = true;
+    this.emailExecutionService.getPage({
+      status: this.selectedStatus === 'ALL' ? undefined : this.selectedStatus as 'SUCCESS' | 'FAIL',
+      cursor: this.nextCursor
+    }).subscribe({
+      next: page => {
+        this.executions = [...this.executions, ...page.items];
+        this.nextCursor = page.nextCursor;
+        this.loading = false;
+      },
+      error: () => this.loading = false
+    });
+  }
 }
@@ -78,6 +78,7 @@ export class JobModalComponent implements OnInit {
       endDate: [''],
       sendTime: ['09:00', Validators.required],
       recurrencePattern: [RecurrencePattern.DAILY, Validators.required],
+      cronExpression: [''],
       emailTemplateId: [''],
       oneTime: [false],
       enabled: [true]
@@ -92,6 +93,10 @@ export class JobModalComponent implements OnInit {
     this.jobForm.get('recurrencePattern')?.valueChanges.subscribe(pattern => {
       const isOneTime = pattern === RecurrencePattern.ONE_TIME;
       this.jobForm.patchValue({ oneTime: isOneTime }, { emitEvent: false });
+
+      const cronControl = this.jobForm.get('cronExpression');
+      cronControl?.setValidators(pattern === RecurrencePattern.CRON ? Validators.required : null);
+      cronControl?.updateValueAndValidity({ emitEvent: false });
     });
   }
 
@@ -154,6 +159,7 @@ export class JobModalComponent implements OnInit {
       endDate: endDate,
       sendTime: job.sendTime,
       recurrencePattern: job.recurrencePattern,
+      cronExpression: job.cronExpression || '',
       emailTemplateId: emailTemplateId,
       oneTime: job.oneTime,
       enabled: job.enabled
@@ -186,6 +192,7 @@ export class JobModalComponent implements OnInit {
       endDate: endDateTime || '',
       sendTime: formValue.sendTime,
       recurrencePattern: formValue.recurrencePattern,
+      cronExpression: formValue.recurrencePattern === RecurrencePattern.CRON ? formValue.cronExpression : undefined,
       oneTime: formValue.oneTime,
       enabled: formValue.enabled,
       emailTemplateId: formValue.emailTemplateId
@@ -260,7 +267,8 @@ export class JobModalComponent implements OnInit {
       receiverEmails: 'Receiver Emails',
       startDate: 'Start Date',
       sendTime: 'Send Time',
-      recurrencePattern: 'Recurrence Pattern'
+      recurrencePattern: 'Recurrence Pattern',
+      cronExpression: 'Cron Expression'
     };
     return displayNames[fieldName] || fieldName;
   }
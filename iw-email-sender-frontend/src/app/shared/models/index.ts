@@ -7,6 +7,7 @@ export interface EmailJob {
   endDate?: string;
   sendTime: string;
   recurrencePattern: RecurrencePattern;
+  cronExpression?: string;
   enabled: boolean;
   oneTime: boolean;
   nextRunTime?: string;
@@ -22,7 +23,8 @@ export enum RecurrencePattern {
   WEEKLY = 'WEEKLY',
   MONTHLY = 'MONTHLY',
   YEARLY = 'YEARLY',
-  ONE_TIME='ONE_TIME'
+  ONE_TIME='ONE_TIME',
+  CRON = 'CRON'
 
 }
 
@@ -7,11 +7,9 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.retry.annotation.EnableRetry;
 
 @SpringBootApplication
 @EnableScheduling
-@EnableRetry
 public class IwEmailSenderApplication {
 
     public static void main(String[] args) {
@@ -1,9 +1,14 @@
 package com.example.iwemailsender.config;
 
+import com.example.iwemailsender.infrastructure.enums.MisfirePolicy;
+import com.example.iwemailsender.infrastructure.enums.PartitionRetentionAction;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
 
 @Component
 public class EmailSchedulerConfig {
@@ -17,6 +22,96 @@ public class EmailSchedulerConfig {
     @Value("${app.email.admin.notification-email}")
     private String notificationEmail;
 
+    @Value("${app.email.dispatch.max-concurrency:50}")
+    private int dispatchMaxConcurrency;
+
+    @Value("${app.email.scheduler.claim.enabled:false}")
+    private boolean claimEnabled;
+
+    @Value("${app.email.scheduler.claim.batch-size:100}")
+    private int claimBatchSize;
+
+    @Value("${app.email.scheduler.claim.lease-seconds:300}")
+    private int claimLeaseSeconds;
+
+    @Value("${app.email.scheduler.node-id:}")
+    private String nodeId;
+
+    @Value("${app.email.scheduler.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.email.scheduler.notify.enabled:true}")
+    private boolean notifyEnabled;
+
+    @Value("${app.email.scheduler.leader-election.enabled:true}")
+    private boolean leaderElectionEnabled;
+
+    @Value("${app.email.scheduler.leader-election.lock-key:7402551081}")
+    private long leaderElectionLockKey;
+
+    @Value("${app.email.scheduler.leader-election.heartbeat-ms:2000}")
+    private long leaderElectionHeartbeatMs;
+
+    @Value("${app.email.scheduler.dedicated-connection.dead-peer-seconds:30}")
+    private int dedicatedConnectionDeadPeerSeconds;
+
+    @Value("${app.email.scheduler.misfire-policy:FIRE_ONCE}")
+    private MisfirePolicy misfirePolicy;
+
+    @Value("${app.email.scheduler.misfire-threshold-seconds:300}")
+    private int misfireThresholdSeconds;
+
+    @Value("${app.email.scheduler.misfire-max-catch-up:10}")
+    private int misfireMaxCatchUp;
+
+    @Value("${app.email.smtp.pool.max-size:8}")
+    private int smtpPoolMaxSize;
+
+    @Value("${app.email.smtp.pool.max-messages-per-connection:100}")
+    private int smtpPoolMaxMessagesPerConnection;
+
+    @Value("${app.email.smtp.pool.idle-timeout-seconds:60}")
+    private int smtpPoolIdleTimeoutSeconds;
+
+    @Value("${app.email.smtp.pool.borrow-timeout-ms:30000}")
+    private long smtpPoolBorrowTimeoutMs;
+
+    @Value("${app.email.rate-limit.account.per-minute:60}")
+    private int rateLimitAccountPerMinute;
+
+    @Value("${app.email.rate-limit.account.burst:20}")
+    private int rateLimitAccountBurst;
+
+    @Value("${app.email.rate-limit.domain.per-minute:60}")
+    private int rateLimitDomainPerMinute;
+
+    @Value("${app.email.rate-limit.domain.burst:20}")
+    private int rateLimitDomainBurst;
+
+    @Value("${app.email.delivery.batch-size:50}")
+    private int deliveryBatchSize;
+
+    @Value("${app.email.bulk.max-concurrency:8}")
+    private int bulkMaxConcurrency;
+
+    @Value("${app.email.execution-log.batch-size:100}")
+    private int executionLogBatchSize;
+
+    @Value("${app.email.execution-log.flush-interval-ms:500}")
+    private long executionLogFlushIntervalMs;
+
+    @Value("${app.email.execution-log.queue-capacity:10000}")
+    private int executionLogQueueCapacity;
+
+    @Value("${app.email.execution-partitions.months-ahead:3}")
+    private int executionPartitionMonthsAhead;
+
+    @Value("${app.email.execution-partitions.retention-months:12}")
+    private int executionRetentionMonths;
+
+    @Value("${app.email.execution-partitions.retention-action:DROP}")
+    private PartitionRetentionAction executionRetentionAction;
+
     public int getMaxAttempts() {
         return maxAttempts;
     }
@@ -40,6 +135,257 @@ public class EmailSchedulerConfig {
     public void setNotificationEmail(String notificationEmail) {
         this.notificationEmail = notificationEmail;
     }
-}
 
+    public int getDispatchMaxConcurrency() {
+        return dispatchMaxConcurrency;
+    }
+
+    public void setDispatchMaxConcurrency(int dispatchMaxConcurrency) {
+        this.dispatchMaxConcurrency = dispatchMaxConcurrency;
+    }
+
+    public boolean isClaimEnabled() {
+        return claimEnabled;
+    }
+
+    public void setClaimEnabled(boolean claimEnabled) {
+        this.claimEnabled = claimEnabled;
+    }
+
+    public int getClaimBatchSize() {
+        return claimBatchSize;
+    }
+
+    public void setClaimBatchSize(int claimBatchSize) {
+        this.claimBatchSize = claimBatchSize;
+    }
+
+    public int getClaimLeaseSeconds() {
+        return claimLeaseSeconds;
+    }
+
+    public void setClaimLeaseSeconds(int claimLeaseSeconds) {
+        this.claimLeaseSeconds = claimLeaseSeconds;
+    }
+
+    public String getNodeId() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = defaultNodeId();
+        }
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown-host";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+
+    public int getSmtpPoolMaxSize() {
+        return smtpPoolMaxSize;
+    }
+
+    public void setSmtpPoolMaxSize(int smtpPoolMaxSize) {
+        this.smtpPoolMaxSize = smtpPoolMaxSize;
+    }
+
+    public int getSmtpPoolMaxMessagesPerConnection() {
+        return smtpPoolMaxMessagesPerConnection;
+    }
+
+    public void setSmtpPoolMaxMessagesPerConnection(int smtpPoolMaxMessagesPerConnection) {
+        this.smtpPoolMaxMessagesPerConnection = smtpPoolMaxMessagesPerConnection;
+    }
+
+    public int getSmtpPoolIdleTimeoutSeconds() {
+        return smtpPoolIdleTimeoutSeconds;
+    }
+
+    public void setSmtpPoolIdleTimeoutSeconds(int smtpPoolIdleTimeoutSeconds) {
+        this.smtpPoolIdleTimeoutSeconds = smtpPoolIdleTimeoutSeconds;
+    }
+
+    public long getSmtpPoolBorrowTimeoutMs() {
+        return smtpPoolBorrowTimeoutMs;
+    }
+
+    public void setSmtpPoolBorrowTimeoutMs(long smtpPoolBorrowTimeoutMs) {
+        this.smtpPoolBorrowTimeoutMs = smtpPoolBorrowTimeoutMs;
+    }
+
+    public int getDeliveryBatchSize() {
+        return deliveryBatchSize;
+    }
+
+    public void setDeliveryBatchSize(int deliveryBatchSize) {
+        this.deliveryBatchSize = deliveryBatchSize;
+    }
+
+    public int getBulkMaxConcurrency() {
+        return bulkMaxConcurrency;
+    }
+
+    public void setBulkMaxConcurrency(int bulkMaxConcurrency) {
+        this.bulkMaxConcurrency = bulkMaxConcurrency;
+    }
 
+    public int getExecutionLogBatchSize() {
+        return executionLogBatchSize;
+    }
+
+    public void setExecutionLogBatchSize(int executionLogBatchSize) {
+        this.executionLogBatchSize = executionLogBatchSize;
+    }
+
+    public long getExecutionLogFlushIntervalMs() {
+        return executionLogFlushIntervalMs;
+    }
+
+    public void setExecutionLogFlushIntervalMs(long executionLogFlushIntervalMs) {
+        this.executionLogFlushIntervalMs = executionLogFlushIntervalMs;
+    }
+
+    public int getExecutionLogQueueCapacity() {
+        return executionLogQueueCapacity;
+    }
+
+    public void setExecutionLogQueueCapacity(int executionLogQueueCapacity) {
+        this.executionLogQueueCapacity = executionLogQueueCapacity;
+    }
+
+    public int getExecutionPartitionMonthsAhead() {
+        return executionPartitionMonthsAhead;
+    }
+
+    public void setExecutionPartitionMonthsAhead(int executionPartitionMonthsAhead) {
+        this.executionPartitionMonthsAhead = executionPartitionMonthsAhead;
+    }
+
+    public int getExecutionRetentionMonths() {
+        return executionRetentionMonths;
+    }
+
+    public void setExecutionRetentionMonths(int executionRetentionMonths) {
+        this.executionRetentionMonths = executionRetentionMonths;
+    }
+
+    public PartitionRetentionAction getExecutionRetentionAction() {
+        return executionRetentionAction;
+    }
+
+    public void setExecutionRetentionAction(PartitionRetentionAction executionRetentionAction) {
+        this.executionRetentionAction = executionRetentionAction;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public MisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
+    public void setMisfirePolicy(MisfirePolicy misfirePolicy) {
+        this.misfirePolicy = misfirePolicy;
+    }
+
+    public int getMisfireThresholdSeconds() {
+        return misfireThresholdSeconds;
+    }
+
+    public void setMisfireThresholdSeconds(int misfireThresholdSeconds) {
+        this.misfireThresholdSeconds = misfireThresholdSeconds;
+    }
+
+    public int getMisfireMaxCatchUp() {
+        return misfireMaxCatchUp;
+    }
+
+    public void setMisfireMaxCatchUp(int misfireMaxCatchUp) {
+        this.misfireMaxCatchUp = misfireMaxCatchUp;
+    }
+
+    public boolean isLeaderElectionEnabled() {
+        return leaderElectionEnabled;
+    }
+
+    public void setLeaderElectionEnabled(boolean leaderElectionEnabled) {
+        this.leaderElectionEnabled = leaderElectionEnabled;
+    }
+
+    public long getLeaderElectionLockKey() {
+        return leaderElectionLockKey;
+    }
+
+    public void setLeaderElectionLockKey(long leaderElectionLockKey) {
+        this.leaderElectionLockKey = leaderElectionLockKey;
+    }
+
+    public boolean isNotifyEnabled() {
+        return notifyEnabled;
+    }
+
+    public void setNotifyEnabled(boolean notifyEnabled) {
+        this.notifyEnabled = notifyEnabled;
+    }
+
+    public int getRateLimitAccountPerMinute() {
+        return rateLimitAccountPerMinute;
+    }
+
+    public void setRateLimitAccountPerMinute(int rateLimitAccountPerMinute) {
+        this.rateLimitAccountPerMinute = rateLimitAccountPerMinute;
+    }
+
+    public int getRateLimitAccountBurst() {
+        return rateLimitAccountBurst;
+    }
+
+    public void setRateLimitAccountBurst(int rateLimitAccountBurst) {
+        this.rateLimitAccountBurst = rateLimitAccountBurst;
+    }
+
+    public int getRateLimitDomainPerMinute() {
+        return rateLimitDomainPerMinute;
+    }
+
+    public void setRateLimitDomainPerMinute(int rateLimitDomainPerMinute) {
+        this.rateLimitDomainPerMinute = rateLimitDomainPerMinute;
+    }
+
+    public int getRateLimitDomainBurst() {
+        return rateLimitDomainBurst;
+    }
+
+    public void setRateLimitDomainBurst(int rateLimitDomainBurst) {
+        this.rateLimitDomainBurst = rateLimitDomainBurst;
+    }
+
+    public long getLeaderElectionHeartbeatMs() {
+        return leaderElectionHeartbeatMs;
+    }
+
+    public void setLeaderElectionHeartbeatMs(long leaderElectionHeartbeatMs) {
+        this.leaderElectionHeartbeatMs = leaderElectionHeartbeatMs;
+    }
+
+    public int getDedicatedConnectionDeadPeerSeconds() {
+        return dedicatedConnectionDeadPeerSeconds;
+    }
+
+    public void setDedicatedConnectionDeadPeerSeconds(int dedicatedConnectionDeadPeerSeconds) {
+        this.dedicatedConnectionDeadPeerSeconds = dedicatedConnectionDeadPeerSeconds;
+    }
+}
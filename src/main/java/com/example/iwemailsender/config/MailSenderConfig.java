@@ -0,0 +1,51 @@
+package com.example.iwemailsender.config;
+
+import com.example.iwemailsender.infrastructure.mail.PooledJavaMailSender;
+import com.example.iwemailsender.infrastructure.mail.SendRateLimiter;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailSenderConfig {
+
+    @Bean
+    public SendRateLimiter sendRateLimiter(EmailSchedulerConfig emailSchedulerConfig) {
+        return new SendRateLimiter(
+                emailSchedulerConfig.getRateLimitAccountPerMinute(),
+                emailSchedulerConfig.getRateLimitAccountBurst(),
+                emailSchedulerConfig.getRateLimitDomainPerMinute(),
+                emailSchedulerConfig.getRateLimitDomainBurst());
+    }
+
+    @Bean
+    public PooledJavaMailSender mailSender(MailProperties mailProperties, EmailSchedulerConfig emailSchedulerConfig,
+                                           SendRateLimiter sendRateLimiter) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(
+                emailSchedulerConfig.getSmtpPoolMaxSize(),
+                emailSchedulerConfig.getSmtpPoolMaxMessagesPerConnection(),
+                emailSchedulerConfig.getSmtpPoolIdleTimeoutSeconds() * 1000L,
+                emailSchedulerConfig.getSmtpPoolBorrowTimeoutMs());
+
+        sender.setHost(mailProperties.getHost());
+        if (mailProperties.getPort() != null) {
+            sender.setPort(mailProperties.getPort());
+        }
+        sender.setUsername(mailProperties.getUsername());
+        sender.setPassword(mailProperties.getPassword());
+        sender.setProtocol(mailProperties.getProtocol());
+        if (mailProperties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        }
+
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(mailProperties.getProperties());
+        sender.setJavaMailProperties(javaMailProperties);
+        sender.setRateLimiter(sendRateLimiter);
+        return sender;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.iwemailsender.config;
+
+import com.example.iwemailsender.email.scheduler.EmailJobDispatcher;
+import com.example.iwemailsender.email.scheduler.JobTimeline;
+import com.example.iwemailsender.email.scheduler.SchedulerLeaderElection;
+import com.example.iwemailsender.email.template.TemplateRenderCache;
+import com.example.iwemailsender.infrastructure.mail.PooledJavaMailSender;
+import com.example.iwemailsender.infrastructure.mail.SendRateLimiter;
+import com.example.iwemailsender.security.service.UserCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the counters that components already keep for themselves as meters, so they are
+ * read only when the registry is scraped. Latencies are timed where they happen.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder schedulerMetrics(JobTimeline jobTimeline, EmailJobDispatcher emailJobDispatcher,
+                                        SchedulerLeaderElection leaderElection) {
+        return registry -> {
+            Gauge.builder("email.scheduler.timeline.jobs", jobTimeline, JobTimeline::size)
+                    .description("Enabled jobs waiting on the in-memory timeline")
+                    .register(registry);
+            Gauge.builder("email.scheduler.inflight.jobs", emailJobDispatcher, EmailJobDispatcher::getInFlightCount)
+                    .description("Jobs currently sending")
+                    .register(registry);
+            Gauge.builder("email.scheduler.leader", leaderElection, election -> election.isLeader() ? 1 : 0)
+                    .description("1 while this node holds the scheduler lock")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder mailMetrics(PooledJavaMailSender mailSender, SendRateLimiter sendRateLimiter,
+                                   TemplateRenderCache templateRenderCache) {
+        return registry -> {
+            Gauge.builder("email.smtp.pool.idle", mailSender, PooledJavaMailSender::getIdleConnectionCount)
+                    .description("Idle SMTP connections in the pool")
+                    .register(registry);
+            FunctionCounter.builder("email.rate.limit.acquired", sendRateLimiter, SendRateLimiter::getAcquired)
+                    .description("Send permits handed out by the rate limiter")
+                    .register(registry);
+            FunctionCounter.builder("email.rate.limit.throttled", sendRateLimiter, SendRateLimiter::getThrottled)
+                    .description("Sends that had to wait for a permit")
+                    .register(registry);
+            FunctionCounter.builder("email.rate.limit.wait", sendRateLimiter, SendRateLimiter::getTotalWaitMillis)
+                    .description("Total time senders waited for permits")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            TimeGauge.builder("email.rate.limit.wait.max", sendRateLimiter, TimeUnit.MILLISECONDS,
+                            SendRateLimiter::getMaxWaitMillis)
+                    .description("Longest time a sender has waited for a permit since startup")
+                    .register(registry);
+            Gauge.builder("email.rate.limit.buckets", sendRateLimiter, SendRateLimiter::getBucketCount)
+                    .description("Account and domain buckets being tracked")
+                    .register(registry);
+            Gauge.builder("email.template.cache.size", templateRenderCache, TemplateRenderCache::size)
+                    .description("Compiled templates held in memory")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder userCacheMetrics(UserCache userCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, userCache.getCache(), "users");
+    }
+}
@@ -2,7 +2,9 @@ package com.example.iwemailsender.email.api;
 import com.example.iwemailsender.email.domain.User;
 import com.example.iwemailsender.email.dto.AuthRequest;
 import com.example.iwemailsender.email.dto.AuthResponse;
+import com.example.iwemailsender.email.dto.RefreshRequest;
 import com.example.iwemailsender.email.repository.UserRepository;
+import com.example.iwemailsender.email.service.RefreshTokenService;
 import com.example.iwemailsender.security.jwt.JwtUtil;
 import com.example.iwemailsender.security.service.CustomUserDetailsService;
 import org.slf4j.Logger;
@@ -35,7 +37,10 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
     private final UserRepository userRepository;
-    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, UserRepository userRepository) {
+    private final RefreshTokenService refreshTokenService;
+    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, UserRepository userRepository,
+                          RefreshTokenService refreshTokenService) {
+        this.refreshTokenService = refreshTokenService;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
@@ -51,6 +56,23 @@ public class AuthController {
         UserDetails user = (UserDetails) authentication.getPrincipal();
         String jwt = jwtUtil.generateToken(user);
 
+        if (user instanceof User domainUser) {
+            return ResponseEntity.ok(new AuthResponse(jwt, refreshTokenService.issue(domainUser.getId())));
+        }
         return ResponseEntity.ok(new AuthResponse(jwt));
     }
+
+    // exchanges a refresh token for a new access/refresh pair without re-checking the password
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        return refreshTokenService.refresh(request.getRefreshToken())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
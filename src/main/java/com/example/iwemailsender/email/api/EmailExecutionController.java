@@ -1,15 +1,19 @@
 package com.example.iwemailsender.email.api;
 
+import com.example.iwemailsender.email.dto.CursorPageDto;
 import com.example.iwemailsender.email.dto.EmailExecutionDto;
+import com.example.iwemailsender.email.dto.ExecutionFilterDto;
 import com.example.iwemailsender.email.dto.LogExecutionDto;
 import com.example.iwemailsender.email.service.EmailExecutionService;
+import com.example.iwemailsender.infrastructure.enums.EmailStatus;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,9 +30,16 @@ public class EmailExecutionController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
-    public ResponseEntity<List<EmailExecutionDto>> getAllExecutions() {
-        List<EmailExecutionDto> executions = emailExecutionService.findAll();
-        return ResponseEntity.ok(executions);
+    public ResponseEntity<CursorPageDto<EmailExecutionDto>> getAllExecutions(
+            @RequestParam(required = false) EmailStatus status,
+            @RequestParam(required = false) UUID jobId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return emailExecutionService.findPage(new ExecutionFilterDto(status, jobId, from, to), cursor, size)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.badRequest().build());
     }
 
     @GetMapping("/{id}")
@@ -41,9 +52,16 @@ public class EmailExecutionController {
 
     @GetMapping("/job/{jobId}")
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
-    public ResponseEntity<List<EmailExecutionDto>> getExecutionsByJobId(@PathVariable UUID jobId) {
-        List<EmailExecutionDto> executions = emailExecutionService.findByJobId(jobId);
-        return ResponseEntity.ok(executions);
+    public ResponseEntity<CursorPageDto<EmailExecutionDto>> getExecutionsByJobId(
+            @PathVariable UUID jobId,
+            @RequestParam(required = false) EmailStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return emailExecutionService.findPage(new ExecutionFilterDto(status, jobId, from, to), cursor, size)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.badRequest().build());
     }
 
 
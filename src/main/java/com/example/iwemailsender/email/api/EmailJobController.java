@@ -1,9 +1,8 @@
 package com.example.iwemailsender.email.api;
 
-import com.example.iwemailsender.email.domain.User;
 import com.example.iwemailsender.email.dto.EmailJobDto;
-import com.example.iwemailsender.email.repository.UserRepository;
 import com.example.iwemailsender.email.service.EmailJobService;
+import com.example.iwemailsender.security.service.UserCache;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,10 +18,10 @@ import java.util.*;
 public class EmailJobController {
 
     private final EmailJobService emailJobService;
-    private final UserRepository userRepository;
-    public EmailJobController(EmailJobService emailJobService, UserRepository userRepository) {
+    private final UserCache userCache;
+    public EmailJobController(EmailJobService emailJobService, UserCache userCache) {
         this.emailJobService = emailJobService;
-        this.userRepository = userRepository;
+        this.userCache = userCache;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -33,11 +32,9 @@ public class EmailJobController {
 
         String username = authentication.getName();
 
-        User user = userRepository.findByUsername(username)
+        UUID userId = userCache.findUserId(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        UUID userId = user.getId();
-
         Optional<EmailJobDto> created = emailJobService.save(userId, requestDto);
 
         return created
@@ -71,9 +68,8 @@ public class EmailJobController {
         try {
             actualUserId = UUID.fromString(userId);
         } catch (IllegalArgumentException e) {
-            User user = userRepository.findByUsername(userId)
+            actualUserId = userCache.findUserId(userId)
                     .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
-            actualUserId = user.getId();
         }
 
         Optional<EmailJobDto> updated = emailJobService.update(id, actualUserId, requestDto);
@@ -97,9 +93,8 @@ public class EmailJobController {
         try {
             uuid = UUID.fromString(userId);
         } catch (IllegalArgumentException e) {
-            User user = userRepository.findByUsername(userId)
+            uuid = userCache.findUserId(userId)
                     .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-            uuid = user.getId();
         }
 
         List<EmailJobDto> jobs = emailJobService.findByUserId(uuid);
@@ -7,8 +7,10 @@ import com.example.iwemailsender.email.repository.EmailJobRepository;
 import com.example.iwemailsender.email.repository.EmailTemplateRepository;
 import com.example.iwemailsender.email.repository.UserRepository;
 import com.example.iwemailsender.email.scheduler.EmailScheduler;
+import com.example.iwemailsender.email.scheduler.JobTimeline;
 import com.example.iwemailsender.email.service.EmailJobService;
 import com.example.iwemailsender.infrastructure.enums.RecurrencePattern;
+import com.example.iwemailsender.infrastructure.mail.SendRateLimiter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -30,18 +32,24 @@ public class TestController {
     private final UserRepository userRepository;
     private final EmailScheduler emailScheduler;
     private final EmailJobService emailJobService;
+    private final JobTimeline jobTimeline;
+    private final SendRateLimiter sendRateLimiter;
 
     public TestController(   EmailJobRepository emailJobRepository,
                              EmailTemplateRepository emailTemplateRepository,
                              UserRepository userRepository,
                              EmailScheduler emailScheduler,
-                             EmailJobService emailJobService)
+                             EmailJobService emailJobService,
+                             JobTimeline jobTimeline,
+                             SendRateLimiter sendRateLimiter)
     {
+        this.sendRateLimiter=sendRateLimiter;
         this.emailJobRepository=emailJobRepository;
         this.emailTemplateRepository=emailTemplateRepository;
         this.userRepository=userRepository;
         this.emailScheduler=emailScheduler;
         this.emailJobService=emailJobService;
+        this.jobTimeline=jobTimeline;
     }
 
     @DeleteMapping("/cleanup")
@@ -94,10 +102,11 @@ public class TestController {
             job.setCreatedBy(testUser);
 
             EmailJob savedJob = emailJobRepository.save(job);
+            jobTimeline.schedule(savedJob.getId(), savedJob.getNextRunTime());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Immediate job created! Should execute within 1 minute.");
+            response.put("message", "Immediate job created! Should execute within a few seconds.");
             response.put("jobId", savedJob.getId());
             response.put("nextRunTime", savedJob.getNextRunTime());
             response.put("senderEmail", savedJob.getSenderEmail());
@@ -141,6 +150,7 @@ public class TestController {
             job.setCreatedBy(testUser);
 
             EmailJob savedJob = emailJobRepository.save(job);
+            jobTimeline.schedule(savedJob.getId(), savedJob.getNextRunTime());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -167,12 +177,13 @@ public class TestController {
 
             job.setNextRunTime(LocalDateTime.now());
             emailJobRepository.save(job);
+            jobTimeline.schedule(job.getId(), job.getNextRunTime());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Job scheduled for immediate execution!");
             response.put("jobId", jobId);
-            response.put("info", "Job will execute within 1 minute when scheduler runs");
+            response.put("info", "Job will execute within a few seconds");
 
             return ResponseEntity.ok(response);
 
@@ -252,6 +263,11 @@ public class TestController {
 
             job.setEnabled(!job.isEnabled());
             emailJobRepository.save(job);
+            if (job.isEnabled()) {
+                jobTimeline.schedule(job.getId(), job.getNextRunTime());
+            } else {
+                jobTimeline.remove(job.getId());
+            }
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -274,6 +290,7 @@ public class TestController {
     public ResponseEntity<Map<String, Object>> deleteJob(@PathVariable UUID jobId) {
         try {
             emailJobRepository.deleteById(jobId);
+            jobTimeline.remove(jobId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -292,9 +309,9 @@ public class TestController {
 
 
     @GetMapping("/jobs-to-execute")
-    public ResponseEntity<Map<String, Object>> getJobsToExecute() {
+    public ResponseEntity<Map<String, Object>> getJobsToExecute(@RequestParam(defaultValue = "500") int limit) {
         try {
-            var jobs = emailJobService.findJobsToExecute();
+            var jobs = emailJobService.findJobsToExecute(LocalDateTime.now(), null, limit);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -312,6 +329,18 @@ public class TestController {
         }
     }
 
+    @GetMapping("/rate-limits")
+    public ResponseEntity<Map<String, Object>> getRateLimitStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("acquired", sendRateLimiter.getAcquired());
+        response.put("throttled", sendRateLimiter.getThrottled());
+        response.put("totalWaitMillis", sendRateLimiter.getTotalWaitMillis());
+        response.put("maxWaitMillis", sendRateLimiter.getMaxWaitMillis());
+        response.put("buckets", sendRateLimiter.getBucketCount());
+        return ResponseEntity.ok(response);
+    }
+
 
     private User getOrCreateTestUser() {
         return userRepository.findAll().stream()
@@ -1,5 +1,6 @@
 package com.example.iwemailsender.email.domain;
 
+import com.example.iwemailsender.infrastructure.UuidV7;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -57,7 +58,9 @@ public class BaseEntity {
 
     @PrePersist
     public void prePersist() {
-        id = UUID.randomUUID();
+        if (id == null) {
+            id = UuidV7.generate();
+        }
         LocalDateTime now = LocalDateTime.ofInstant(Instant.now(), ZoneId.systemDefault());
         createdAt = now;
         updatedAt = now;
@@ -0,0 +1,80 @@
+package com.example.iwemailsender.email.domain;
+
+import com.example.iwemailsender.infrastructure.enums.DeliveryStatus;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "email_deliveries")
+public class EmailDelivery extends BaseEntity {
+
+    @Column(name = "email_execution_id", nullable = false)
+    private UUID emailExecutionId;
+    private String recipient;
+    @Enumerated(EnumType.STRING)
+    private DeliveryStatus status;
+    private String smtpReply;
+    private int attemptCount;
+    private LocalDateTime lastAttemptAt;
+
+    public EmailDelivery() {
+    }
+
+    public EmailDelivery(UUID emailExecutionId, String recipient, DeliveryStatus status) {
+        this.emailExecutionId = emailExecutionId;
+        this.recipient = recipient;
+        this.status = status;
+    }
+
+    public UUID getEmailExecutionId() {
+        return emailExecutionId;
+    }
+
+    public void setEmailExecutionId(UUID emailExecutionId) {
+        this.emailExecutionId = emailExecutionId;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public DeliveryStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DeliveryStatus status) {
+        this.status = status;
+    }
+
+    public String getSmtpReply() {
+        return smtpReply;
+    }
+
+    public void setSmtpReply(String smtpReply) {
+        this.smtpReply = smtpReply;
+    }
+
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    public void setAttemptCount(int attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    public LocalDateTime getLastAttemptAt() {
+        return lastAttemptAt;
+    }
+
+    public void setLastAttemptAt(LocalDateTime lastAttemptAt) {
+        this.lastAttemptAt = lastAttemptAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.iwemailsender.email.domain;
 
+import com.example.iwemailsender.infrastructure.enums.DeliveryMode;
 import com.example.iwemailsender.infrastructure.enums.RecurrencePattern;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
@@ -26,12 +27,21 @@ public class EmailJob extends BaseEntity{
     @Enumerated(EnumType.STRING)
     @Column(name = "recurrence_pattern")
     private RecurrencePattern recurrencePattern;
+    private String cronExpression;
     private String senderEmail;
     private String receiverEmails;
     private boolean enabled = true;
     private boolean isOneTime = false;
     private LocalDateTime nextRunTime;
     private LocalTime sendTime;
+    private String claimedBy;
+    private LocalDateTime leaseUntil;
+    private int attemptCount;
+    private LocalDateTime nextAttemptAt;
+    private UUID currentExecutionId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "delivery_mode")
+    private DeliveryMode deliveryMode = DeliveryMode.INDIVIDUAL;
 
 
     @OneToMany(mappedBy = "emailJob", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -88,6 +98,14 @@ public class EmailJob extends BaseEntity{
         this.recurrencePattern = recurrencePattern;
     }
 
+    public String getCronExpression() {
+        return cronExpression;
+    }
+
+    public void setCronExpression(String cronExpression) {
+        this.cronExpression = cronExpression;
+    }
+
     public String getSenderEmail() {
         return senderEmail;
     }
@@ -136,6 +154,54 @@ public class EmailJob extends BaseEntity{
         this.sendTime = sendTime;
     }
 
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    public void setAttemptCount(int attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public UUID getCurrentExecutionId() {
+        return currentExecutionId;
+    }
+
+    public void setCurrentExecutionId(UUID currentExecutionId) {
+        this.currentExecutionId = currentExecutionId;
+    }
+
+    public DeliveryMode getDeliveryMode() {
+        return deliveryMode;
+    }
+
+    public void setDeliveryMode(DeliveryMode deliveryMode) {
+        this.deliveryMode = deliveryMode;
+    }
+
     public List<EmailExecution> getExecutions() {
         return executions;
     }
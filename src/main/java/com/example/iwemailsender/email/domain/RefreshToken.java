@@ -0,0 +1,77 @@
+package com.example.iwemailsender.email.domain;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A refresh token as stored: only the SHA-256 of the token is kept. A token is used once;
+ * refreshing revokes it and points {@code replacedBy} at its successor.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    private String tokenHash;
+    private LocalDateTime expiresAt;
+    private LocalDateTime revokedAt;
+    private UUID replacedBy;
+
+    public RefreshToken() {
+    }
+
+    public RefreshToken(UUID userId, String tokenHash, LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isActive(LocalDateTime now) {
+        return revokedAt == null && expiresAt.isAfter(now);
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    public UUID getReplacedBy() {
+        return replacedBy;
+    }
+
+    public void setReplacedBy(UUID replacedBy) {
+        this.replacedBy = replacedBy;
+    }
+}
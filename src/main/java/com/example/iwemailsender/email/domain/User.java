@@ -26,6 +26,7 @@ public class User extends BaseEntity
     private String username;
     private String password;
     private boolean enabled = true;
+    private int tokenVersion;
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
             name = "user_roles",
@@ -91,6 +92,14 @@ public class User extends BaseEntity
         this.enabled = enabled;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public List<Role> getRoles() {
         return roles;
     }
@@ -3,11 +3,21 @@ package com.example.iwemailsender.email.dto;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
     public AuthResponse(String token) {
         this.token = token;
     }
 
+    public AuthResponse(String token, String refreshToken) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+    }
+
     public String getToken() {
         return token;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
 }
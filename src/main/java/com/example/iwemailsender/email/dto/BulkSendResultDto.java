@@ -0,0 +1,63 @@
+package com.example.iwemailsender.email.dto;
+
+import java.util.List;
+
+public class BulkSendResultDto {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long durationMillis;
+    private List<RecipientResultDto> results;
+
+    public BulkSendResultDto() {
+    }
+
+    public BulkSendResultDto(List<RecipientResultDto> results, long durationMillis) {
+        this.results = results;
+        this.durationMillis = durationMillis;
+        this.total = results.size();
+        this.succeeded = (int) results.stream().filter(RecipientResultDto::isDelivered).count();
+        this.failed = total - succeeded;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public List<RecipientResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<RecipientResultDto> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.iwemailsender.email.dto;
+
+import com.example.iwemailsender.infrastructure.enums.DeliveryStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class EmailDeliveryDto {
+
+    private UUID id;
+    private UUID emailExecutionId;
+    private String recipient;
+    private DeliveryStatus status;
+    private String smtpReply;
+    private int attemptCount;
+    private LocalDateTime lastAttemptAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getEmailExecutionId() {
+        return emailExecutionId;
+    }
+
+    public void setEmailExecutionId(UUID emailExecutionId) {
+        this.emailExecutionId = emailExecutionId;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public DeliveryStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DeliveryStatus status) {
+        this.status = status;
+    }
+
+    public String getSmtpReply() {
+        return smtpReply;
+    }
+
+    public void setSmtpReply(String smtpReply) {
+        this.smtpReply = smtpReply;
+    }
+
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    public void setAttemptCount(int attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    public LocalDateTime getLastAttemptAt() {
+        return lastAttemptAt;
+    }
+
+    public void setLastAttemptAt(LocalDateTime lastAttemptAt) {
+        this.lastAttemptAt = lastAttemptAt;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.iwemailsender.email.dto;
 import com.example.iwemailsender.infrastructure.enums.EmailStatus;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public class EmailExecutionDto {
@@ -16,6 +17,7 @@ public class EmailExecutionDto {
     private UUID emailJobId;
     private String jobSenderEmail;
     private String jobReceiverEmails;
+    private List<EmailDeliveryDto> deliveries;
 
     public UUID getId() {
         return id;
@@ -88,4 +90,12 @@ public class EmailExecutionDto {
     public void setJobReceiverEmails(String jobReceiverEmails) {
         this.jobReceiverEmails = jobReceiverEmails;
     }
+
+    public List<EmailDeliveryDto> getDeliveries() {
+        return deliveries;
+    }
+
+    public void setDeliveries(List<EmailDeliveryDto> deliveries) {
+        this.deliveries = deliveries;
+    }
 }
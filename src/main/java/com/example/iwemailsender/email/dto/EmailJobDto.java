@@ -1,6 +1,7 @@
 package com.example.iwemailsender.email.dto;
 
 import com.example.iwemailsender.email.domain.EmailTemplate;
+import com.example.iwemailsender.infrastructure.enums.DeliveryMode;
 import com.example.iwemailsender.infrastructure.enums.RecurrencePattern;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
@@ -16,6 +17,7 @@ public class EmailJobDto {
     private LocalDateTime startDate;
     private LocalDateTime endDate;
     private RecurrencePattern recurrencePattern;
+    private String cronExpression;
 
     @Email
     private String senderEmail;
@@ -30,6 +32,11 @@ public class EmailJobDto {
 
     private LocalDateTime nextRunTime;
 
+    private int attemptCount;
+    private LocalDateTime nextAttemptAt;
+    private UUID currentExecutionId;
+    private DeliveryMode deliveryMode;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -77,6 +84,14 @@ public class EmailJobDto {
         this.recurrencePattern = recurrencePattern;
     }
 
+    public String getCronExpression() {
+        return cronExpression;
+    }
+
+    public void setCronExpression(String cronExpression) {
+        this.cronExpression = cronExpression;
+    }
+
     public String getSenderEmail() {
         return senderEmail;
     }
@@ -125,6 +140,38 @@ public class EmailJobDto {
         this.nextRunTime = nextRunTime;
     }
 
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    public void setAttemptCount(int attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public UUID getCurrentExecutionId() {
+        return currentExecutionId;
+    }
+
+    public void setCurrentExecutionId(UUID currentExecutionId) {
+        this.currentExecutionId = currentExecutionId;
+    }
+
+    public DeliveryMode getDeliveryMode() {
+        return deliveryMode;
+    }
+
+    public void setDeliveryMode(DeliveryMode deliveryMode) {
+        this.deliveryMode = deliveryMode;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,56 @@
+package com.example.iwemailsender.email.dto;
+
+import com.example.iwemailsender.infrastructure.enums.EmailStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ExecutionFilterDto {
+
+    private EmailStatus status;
+    private UUID jobId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    public ExecutionFilterDto() {
+    }
+
+    public ExecutionFilterDto(EmailStatus status, UUID jobId, LocalDateTime from, LocalDateTime to) {
+        this.status = status;
+        this.jobId = jobId;
+        this.from = from;
+        this.to = to;
+    }
+
+    public EmailStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EmailStatus status) {
+        this.status = status;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+}
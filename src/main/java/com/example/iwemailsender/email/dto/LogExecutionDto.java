@@ -6,11 +6,20 @@ import java.util.UUID;
 
 public class LogExecutionDto {
 
+    private UUID executionId;
     private UUID jobId;
     private EmailStatus status;
     private String errorMessage;
     private int retryAttempt;
 
+    public UUID getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(UUID executionId) {
+        this.executionId = executionId;
+    }
+
     public UUID getJobId() {
         return jobId;
     }
@@ -0,0 +1,51 @@
+package com.example.iwemailsender.email.dto;
+
+public class RecipientResultDto {
+
+    private String recipient;
+    private boolean delivered;
+    private String smtpReply;
+    private long durationMillis;
+
+    public RecipientResultDto() {
+    }
+
+    public RecipientResultDto(String recipient, boolean delivered, String smtpReply, long durationMillis) {
+        this.recipient = recipient;
+        this.delivered = delivered;
+        this.smtpReply = smtpReply;
+        this.durationMillis = durationMillis;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public boolean isDelivered() {
+        return delivered;
+    }
+
+    public void setDelivered(boolean delivered) {
+        this.delivered = delivered;
+    }
+
+    public String getSmtpReply() {
+        return smtpReply;
+    }
+
+    public void setSmtpReply(String smtpReply) {
+        this.smtpReply = smtpReply;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
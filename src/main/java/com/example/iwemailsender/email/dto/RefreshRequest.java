@@ -0,0 +1,14 @@
+package com.example.iwemailsender.email.dto;
+
+public class RefreshRequest {
+    private String refreshToken;
+
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.iwemailsender.email.mapper;
+
+import com.example.iwemailsender.email.domain.EmailDelivery;
+import com.example.iwemailsender.email.dto.EmailDeliveryDto;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface EmailDeliveryMapper {
+
+    EmailDeliveryDto toDto(EmailDelivery delivery);
+
+    List<EmailDeliveryDto> toDtoList(List<EmailDelivery> deliveries);
+}
@@ -4,6 +4,7 @@ import com.example.iwemailsender.email.domain.EmailExecution;
 import com.example.iwemailsender.email.domain.EmailJob;
 import com.example.iwemailsender.email.dto.EmailExecutionDto;
 import com.example.iwemailsender.email.repository.EmailJobRepository;
+import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -17,10 +18,22 @@ public interface EmailExecutionMapper {
     @Mapping(target = "emailJobId", source = "emailJob.id")
     @Mapping(target = "jobSenderEmail", source = "emailJob.senderEmail")
     @Mapping(target = "jobReceiverEmails", source = "emailJob.receiverEmails")
+    @Mapping(target = "deliveries", ignore = true)
     EmailExecutionDto toResponseDTO(EmailExecution execution);
 
     List<EmailExecutionDto> toResponseDTOList(List<EmailExecution> executions);
 
+    // reads only the job id, which a lazy job reference holds without loading the row
+    @Named("withoutJob")
+    @Mapping(target = "emailJobId", source = "emailJob.id")
+    @Mapping(target = "jobSenderEmail", ignore = true)
+    @Mapping(target = "jobReceiverEmails", ignore = true)
+    @Mapping(target = "deliveries", ignore = true)
+    EmailExecutionDto toResponseDTOWithoutJob(EmailExecution execution);
+
+    @IterableMapping(qualifiedByName = "withoutJob")
+    List<EmailExecutionDto> toResponseDTOListWithoutJob(List<EmailExecution> executions);
+
 
     @Mapping(target = "emailJob", ignore = true)
     @Mapping(target = "id", source = "id")
@@ -2,8 +2,10 @@ package com.example.iwemailsender.email.mapper;
 
 import com.example.iwemailsender.email.domain.EmailJob;
 import com.example.iwemailsender.email.dto.EmailJobDto;
+import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.List;
 
@@ -16,6 +18,12 @@ public interface EmailJobMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "emailTemplate", ignore = true)
     @Mapping(target = "executions", ignore = true)
+    @Mapping(target = "claimedBy", ignore = true)
+    @Mapping(target = "leaseUntil", ignore = true)
+    @Mapping(target = "attemptCount", ignore = true)
+    @Mapping(target = "nextAttemptAt", ignore = true)
+    @Mapping(target = "currentExecutionId", ignore = true)
+    @Mapping(target = "deliveryMode", ignore = true)
     @Mapping(target = "nextRunTime", source = "startDate")
     @Mapping(target = "receiverEmails", source = "receiverEmails")
     @Mapping(target = "oneTime", source = "oneTime")
@@ -32,5 +40,19 @@ public interface EmailJobMapper {
     EmailJobDto toDto(EmailJob job);
 
     List<EmailJobDto> toDtoList(List<EmailJob> jobs);
+
+    /**
+     * Mapping used by the scheduler. Leaves out {@code createdBy}, which the send path never
+     * reads, so mapping a tick's jobs does not lazy-load one user per job.
+     */
+    @Named("toScheduledDto")
+    @Mapping(target = "createdByUsername", ignore = true)
+    @Mapping(target = "createdByUserId", ignore = true)
+    @Mapping(target = "emailTemplateName", source = "emailTemplate.name")
+    @Mapping(target = "emailTemplateId", source = "emailTemplate.id")
+    EmailJobDto toScheduledDto(EmailJob job);
+
+    @IterableMapping(qualifiedByName = "toScheduledDto")
+    List<EmailJobDto> toScheduledDtoList(List<EmailJob> jobs);
 }
 
@@ -15,6 +15,7 @@ public interface UserMapper {
 
 
     @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     User toEntity(UserDto dto);
 
     @Mapping(target = "roleNames", expression = "java(mapRoleNames(user.getRoles()))")
@@ -24,6 +25,7 @@ public interface UserMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     void updateEntityFromDto(UserDto dto, @MappingTarget User user);
 
     default List<String> mapRoleNames(List<Role> roles) {
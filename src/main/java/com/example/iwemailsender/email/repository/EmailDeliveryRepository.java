@@ -0,0 +1,19 @@
+package com.example.iwemailsender.email.repository;
+
+import com.example.iwemailsender.email.domain.EmailDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailDeliveryRepository extends JpaRepository<EmailDelivery, UUID> {
+
+    List<EmailDelivery> findByEmailExecutionIdOrderByRecipientAsc(UUID emailExecutionId);
+
+    List<EmailDelivery> findByEmailExecutionIdAndRecipientIn(UUID emailExecutionId, Collection<String> recipients);
+
+    List<EmailDelivery> findByEmailExecutionIdIn(Collection<UUID> emailExecutionIds);
+}
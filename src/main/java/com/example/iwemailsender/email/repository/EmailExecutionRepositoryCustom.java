@@ -0,0 +1,17 @@
+package com.example.iwemailsender.email.repository;
+
+import com.example.iwemailsender.email.domain.EmailExecution;
+import com.example.iwemailsender.email.dto.ExecutionFilterDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailExecutionRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} executions matching {@code filter}, newest first, that come
+     * strictly after the {@code (afterExecutedAt, afterId)} position. Pass {@code null} for the first page.
+     */
+    List<EmailExecution> findPage(ExecutionFilterDto filter, LocalDateTime afterExecutedAt, UUID afterId, int limit);
+}
@@ -0,0 +1,54 @@
+package com.example.iwemailsender.email.repository;
+
+import com.example.iwemailsender.email.domain.EmailExecution;
+import com.example.iwemailsender.email.dto.ExecutionFilterDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class EmailExecutionRepositoryImpl implements EmailExecutionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EmailExecution> findPage(ExecutionFilterDto filter, LocalDateTime afterExecutedAt, UUID afterId, int limit) {
+        // only filters that are set end up in the query, so the planner can use executed_at DESC directly;
+        // the job stays an unloaded reference, its id comes from the email_job_id column
+        StringBuilder jpql = new StringBuilder("SELECT e FROM EmailExecution e WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (filter.getStatus() != null) {
+            jpql.append(" AND e.status = :status");
+            parameters.put("status", filter.getStatus());
+        }
+        if (filter.getJobId() != null) {
+            jpql.append(" AND e.emailJob.id = :jobId");
+            parameters.put("jobId", filter.getJobId());
+        }
+        if (filter.getFrom() != null) {
+            jpql.append(" AND e.executedAt >= :from");
+            parameters.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" AND e.executedAt < :to");
+            parameters.put("to", filter.getTo());
+        }
+        if (afterExecutedAt != null && afterId != null) {
+            jpql.append(" AND (e.executedAt < :afterExecutedAt OR (e.executedAt = :afterExecutedAt AND e.id < :afterId))");
+            parameters.put("afterExecutedAt", afterExecutedAt);
+            parameters.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY e.executedAt DESC, e.id DESC");
+
+        TypedQuery<EmailExecution> query = entityManager.createQuery(jpql.toString(), EmailExecution.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -2,13 +2,18 @@ package com.example.iwemailsender.email.repository;
 
 import com.example.iwemailsender.email.domain.EmailJob;
 import com.example.iwemailsender.email.dto.EmailJobDto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,12 +24,90 @@ public interface EmailJobRepository extends JpaRepository<EmailJob, UUID> {
 
    @Query("""
     SELECT ej FROM EmailJob ej
+    LEFT JOIN FETCH ej.emailTemplate
     WHERE ej.enabled = true
       AND ej.nextRunTime <= :currentTime
       AND (ej.startDate IS NULL OR ej.startDate <= :currentTime)
       AND (ej.endDate IS NULL OR ej.endDate >= :currentTime)
+      AND (ej.nextAttemptAt IS NULL OR ej.nextAttemptAt <= :currentTime)
+    ORDER BY ej.nextRunTime, ej.id
 """)
-    List<EmailJob> findJobsToExecute(@Param("currentTime") LocalDateTime currentTime);
+    List<EmailJob> findJobsToExecute(@Param("currentTime") LocalDateTime currentTime, Limit limit);
+
+   @Query("""
+    SELECT ej FROM EmailJob ej
+    LEFT JOIN FETCH ej.emailTemplate
+    WHERE ej.enabled = true
+      AND ej.nextRunTime <= :currentTime
+      AND (ej.startDate IS NULL OR ej.startDate <= :currentTime)
+      AND (ej.endDate IS NULL OR ej.endDate >= :currentTime)
+      AND (ej.nextAttemptAt IS NULL OR ej.nextAttemptAt <= :currentTime)
+      AND (ej.nextRunTime > :afterRunTime OR (ej.nextRunTime = :afterRunTime AND ej.id > :afterId))
+    ORDER BY ej.nextRunTime, ej.id
+""")
+    List<EmailJob> findJobsToExecuteAfter(@Param("currentTime") LocalDateTime currentTime,
+                                          @Param("afterRunTime") LocalDateTime afterRunTime,
+                                          @Param("afterId") UUID afterId,
+                                          Limit limit);
+
+    @Query(value = """
+    SELECT ej.id FROM email_jobs ej
+    WHERE ej.enabled = true
+      AND ej.next_run_time <= :currentTime
+      AND (ej.start_date IS NULL OR ej.start_date <= :currentTime)
+      AND (ej.end_date IS NULL OR ej.end_date >= :currentTime)
+      AND (ej.next_attempt_at IS NULL OR ej.next_attempt_at <= :currentTime)
+      AND (ej.lease_until IS NULL OR ej.lease_until < :currentTime)
+    ORDER BY ej.next_run_time
+    LIMIT :batchSize
+    FOR UPDATE SKIP LOCKED
+""", nativeQuery = true)
+    List<UUID> lockJobsToClaim(@Param("currentTime") LocalDateTime currentTime, @Param("batchSize") int batchSize);
+
+    @Query("SELECT ej FROM EmailJob ej LEFT JOIN FETCH ej.emailTemplate WHERE ej.id IN :ids")
+    List<EmailJob> findWithTemplateByIdIn(@Param("ids") List<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE EmailJob ej SET ej.claimedBy = :nodeId, ej.leaseUntil = :leaseUntil WHERE ej.id IN :ids")
+    int claimJobs(@Param("ids") List<UUID> ids, @Param("nodeId") String nodeId, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE EmailJob ej SET ej.leaseUntil = :leaseUntil WHERE ej.id IN :ids AND ej.claimedBy = :nodeId")
+    int renewLeases(@Param("ids") List<UUID> ids, @Param("nodeId") String nodeId, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // locked so the lease check and the completion write cannot interleave with another node's claim
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ej FROM EmailJob ej WHERE ej.id = :id")
+    Optional<EmailJob> findByIdForUpdate(@Param("id") UUID id);
+
+    // matches only while the job is still in the state the caller read, so a stale copy claims nothing
+    @Modifying
+    @Query("""
+    UPDATE EmailJob ej SET ej.claimedBy = :nodeId, ej.leaseUntil = :leaseUntil
+    WHERE ej.id = :id
+      AND ej.enabled = true
+      AND ej.nextRunTime = :nextRunTime
+      AND ej.attemptCount = :attemptCount
+      AND (ej.claimedBy IS NULL OR ej.claimedBy = :nodeId OR ej.leaseUntil < :currentTime)
+""")
+    int startJob(@Param("id") UUID id, @Param("nextRunTime") LocalDateTime nextRunTime,
+                 @Param("attemptCount") int attemptCount, @Param("nodeId") String nodeId,
+                 @Param("currentTime") LocalDateTime currentTime, @Param("leaseUntil") LocalDateTime leaseUntil);
+    // a job is first due once both its run time and its start date have passed, and never after its end date
+    @Query("""
+    SELECT ej.id AS id,
+           GREATEST(COALESCE(ej.nextAttemptAt, ej.nextRunTime), COALESCE(ej.startDate, ej.nextRunTime)) AS nextRunTime
+    FROM EmailJob ej
+    WHERE ej.enabled = true
+      AND ej.nextRunTime IS NOT NULL
+      AND (ej.endDate IS NULL
+           OR ej.endDate >= GREATEST(COALESCE(ej.nextAttemptAt, ej.nextRunTime), COALESCE(ej.startDate, ej.nextRunTime)))
+""")
+    List<JobRunTimeView> findScheduledRunTimes();
+
+    @Query("SELECT ej.id AS id, ej.senderEmail AS senderEmail, ej.receiverEmails AS receiverEmails FROM EmailJob ej WHERE ej.id IN :ids")
+    List<JobAddressView> findAddressesByIdIn(@Param("ids") Collection<UUID> ids);
+
     List<EmailJob> findByEnabledTrue();
     List<EmailJob> findByCreatedById(UUID userId);
 
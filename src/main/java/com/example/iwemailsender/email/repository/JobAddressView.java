@@ -0,0 +1,12 @@
+package com.example.iwemailsender.email.repository;
+
+import java.util.UUID;
+
+public interface JobAddressView {
+
+    UUID getId();
+
+    String getSenderEmail();
+
+    String getReceiverEmails();
+}
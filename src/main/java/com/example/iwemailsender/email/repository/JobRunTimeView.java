@@ -0,0 +1,11 @@
+package com.example.iwemailsender.email.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface JobRunTimeView {
+
+    UUID getId();
+
+    LocalDateTime getNextRunTime();
+}
@@ -0,0 +1,62 @@
+package com.example.iwemailsender.email.scheduler;
+
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed cron expressions keyed by their source string. Most cron jobs share a handful of
+ * expressions ("0 0 9 * * MON-FRI"), so a tick recomputing next runs for many jobs parses
+ * each distinct expression once and then only walks the precompiled field bitsets.
+ */
+@Component
+public class CronExpressionCache {
+
+    // distinct expressions beyond this are parsed on every call instead of being cached
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final Map<String, CronExpression> expressions = new ConcurrentHashMap<>();
+
+    /**
+     * @throws IllegalArgumentException if the expression is not a valid six-field cron expression
+     */
+    public CronExpression get(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Cron expression must not be empty");
+        }
+
+        CronExpression cached = expressions.get(expression);
+        if (cached != null) {
+            return cached;
+        }
+
+        CronExpression parsed = CronExpression.parse(expression);
+        if (expressions.size() < MAX_ENTRIES) {
+            expressions.putIfAbsent(expression, parsed);
+        }
+        return parsed;
+    }
+
+    public boolean isValid(String expression) {
+        try {
+            get(expression);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * First fire time strictly after {@code after}, or {@code null} if the expression never fires again.
+     */
+    public LocalDateTime next(String expression, LocalDateTime after) {
+        return get(expression).next(after);
+    }
+
+    public int size() {
+        return expressions.size();
+    }
+}
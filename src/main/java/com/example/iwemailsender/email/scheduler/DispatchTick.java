@@ -0,0 +1,116 @@
+package com.example.iwemailsender.email.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DispatchTick {
+
+    private final long number;
+    private final long startedAtNanos = System.nanoTime();
+
+    // starts at 1 so the tick cannot complete before seal() is called
+    private final AtomicInteger pending = new AtomicInteger(1);
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger retried = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger misfired = new AtomicInteger();
+    private final AtomicInteger superseded = new AtomicInteger();
+
+    private final CompletableFuture<DispatchTick> completion = new CompletableFuture<>();
+
+    DispatchTick(long number) {
+        this.number = number;
+    }
+
+    void jobSubmitted() {
+        submitted.incrementAndGet();
+        pending.incrementAndGet();
+    }
+
+    void jobSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    void jobSucceeded() {
+        succeeded.incrementAndGet();
+        release();
+    }
+
+    void jobRetryScheduled() {
+        retried.incrementAndGet();
+        release();
+    }
+
+    void jobFailed() {
+        failed.incrementAndGet();
+        release();
+    }
+
+    void jobMisfired() {
+        misfired.incrementAndGet();
+        release();
+    }
+
+    void jobSuperseded() {
+        superseded.incrementAndGet();
+        release();
+    }
+
+    void seal() {
+        release();
+    }
+
+    private void release() {
+        if (pending.decrementAndGet() == 0) {
+            completion.complete(this);
+        }
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    public int getSubmitted() {
+        return submitted.get();
+    }
+
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    public int getSucceeded() {
+        return succeeded.get();
+    }
+
+    public int getRetried() {
+        return retried.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public int getMisfired() {
+        return misfired.get();
+    }
+
+    public int getSuperseded() {
+        return superseded.get();
+    }
+
+    public int getPending() {
+        return Math.max(0, submitted.get() - succeeded.get() - retried.get() - failed.get() - misfired.get()
+                - superseded.get());
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(System.nanoTime() - startedAtNanos);
+    }
+
+    public CompletableFuture<DispatchTick> getCompletion() {
+        return completion;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.iwemailsender.email.scheduler;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import com.example.iwemailsender.email.dto.EmailJobDto;
+import com.example.iwemailsender.email.service.EmailJobService;
+import com.example.iwemailsender.email.service.EmailSendingService;
+import com.example.iwemailsender.infrastructure.enums.SendOutcome;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans due jobs out onto virtual threads. The number of jobs sending at the same
+ * time is capped by {@code app.email.dispatch.max-concurrency}; once the cap is reached
+ * {@link #dispatch(List)} blocks the caller until a slot frees up.
+ */
+@Component
+public class EmailJobDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailJobDispatcher.class);
+
+    private final EmailSendingService emailSendingService;
+    private final EmailJobService emailJobService;
+    private final EmailSchedulerConfig emailSchedulerConfig;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong tickCounter = new AtomicLong();
+    private final Timer lagTimer;
+
+    public EmailJobDispatcher(EmailSendingService emailSendingService, EmailJobService emailJobService,
+                              EmailSchedulerConfig emailSchedulerConfig, MeterRegistry meterRegistry) {
+        this.emailSendingService = emailSendingService;
+        this.emailJobService = emailJobService;
+        this.emailSchedulerConfig = emailSchedulerConfig;
+        this.lagTimer = Timer.builder("email.scheduler.lag")
+                .description("Delay between a job's next run time and the moment it starts sending")
+                .register(meterRegistry);
+        this.permits = new Semaphore(Math.max(1, emailSchedulerConfig.getDispatchMaxConcurrency()));
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("email-dispatch-", 0).factory());
+    }
+
+    public DispatchTick dispatch(List<EmailJobDto> jobs) {
+        DispatchTick tick = new DispatchTick(tickCounter.incrementAndGet());
+
+        try {
+            for (EmailJobDto job : jobs) {
+                if (!inFlight.add(job.getId())) {
+                    logger.debug("Job {} is still being processed by an earlier tick, skipping", job.getId());
+                    tick.jobSkipped();
+                    continue;
+                }
+
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    inFlight.remove(job.getId());
+                    Thread.currentThread().interrupt();
+                    logger.warn("Dispatch of tick {} interrupted, {} jobs were not submitted", tick.getNumber(),
+                            jobs.size() - tick.getSubmitted() - tick.getSkipped());
+                    break;
+                }
+
+                tick.jobSubmitted();
+                try {
+                    executor.execute(() -> executeJob(job, tick));
+                } catch (RuntimeException e) {
+                    inFlight.remove(job.getId());
+                    permits.release();
+                    tick.jobFailed();
+                    logger.error("Could not submit job {}: {}", job.getId(), e.getMessage());
+                }
+            }
+        } finally {
+            tick.seal();
+        }
+
+        return tick;
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Pushes the lease of every job still sending forward, so a send that outlives
+     * {@code claim.lease-seconds} (a slow server, rate-limit waits) is not reclaimed elsewhere.
+     */
+    @Scheduled(fixedDelayString = "${app.email.scheduler.claim.renew-interval-ms:60000}")
+    public void renewLeases() {
+        List<UUID> running = List.copyOf(inFlight);
+        if (running.isEmpty()) {
+            return;
+        }
+        try {
+            int renewed = emailJobService.renewLeases(running, emailSchedulerConfig.getNodeId(),
+                    emailSchedulerConfig.getClaimLeaseSeconds());
+            logger.debug("Renewed the lease of {} of {} in-flight jobs", renewed, running.size());
+        } catch (RuntimeException e) {
+            logger.warn("Could not renew job leases: {}", e.getMessage());
+        }
+    }
+
+    private void executeJob(EmailJobDto job, DispatchTick tick) {
+        // the copy may have been read before an earlier run of the same job finished and moved it on
+        if (!startJob(job)) {
+            logger.debug("Job {} changed since it was read, skipping this copy", job.getId());
+            inFlight.remove(job.getId());
+            permits.release();
+            tick.jobSuperseded();
+            return;
+        }
+
+        logger.info("Executing job: {}", job.getId());
+        if (job.getNextRunTime() != null) {
+            Duration lag = Duration.between(job.getNextRunTime(), LocalDateTime.now());
+            lagTimer.record(lag.isNegative() ? Duration.ZERO : lag);
+        }
+
+        try {
+            SendOutcome outcome = emailSendingService.sendEmailWithTemplate(
+                    job,
+                    job.getSenderEmail(),
+                    job.getReceiverEmails(),
+                    job.getEmailTemplate()
+            );
+
+            if (outcome == SendOutcome.RETRY_SCHEDULED) {
+                logger.info("Job {} failed, a retry has been queued", job.getId());
+                tick.jobRetryScheduled();
+            } else if (outcome == SendOutcome.SKIPPED_MISFIRE) {
+                tick.jobMisfired();
+            } else {
+                logger.info("Email successfully sent for job {}", job.getId());
+                tick.jobSucceeded();
+            }
+
+        } catch (Exception e) {
+            logger.error("Job {} failed completely after all retries: {}", job.getId(), e.getMessage());
+            tick.jobFailed();
+        } finally {
+            inFlight.remove(job.getId());
+            permits.release();
+        }
+    }
+
+    private boolean startJob(EmailJobDto job) {
+        try {
+            return emailJobService.startJob(job, emailSchedulerConfig.getNodeId(), emailSchedulerConfig.getClaimLeaseSeconds());
+        } catch (RuntimeException e) {
+            logger.error("Could not start job {}: {}", job.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Dispatcher did not finish within 30 seconds, {} jobs still in flight", inFlight.size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
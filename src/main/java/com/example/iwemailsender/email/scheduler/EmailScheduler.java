@@ -2,20 +2,23 @@ package com.example.iwemailsender.email.scheduler;
 
 import com.example.iwemailsender.config.EmailSchedulerConfig;
 import com.example.iwemailsender.email.dto.EmailJobDto;
-import com.example.iwemailsender.email.dto.LogExecutionDto;
 import com.example.iwemailsender.email.service.EmailJobService;
-import com.example.iwemailsender.email.service.EmailExecutionService;
-import com.example.iwemailsender.email.service.EmailSendingService;
-import com.example.iwemailsender.infrastructure.enums.EmailStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 
 
@@ -24,65 +27,176 @@ public class EmailScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailScheduler.class);
 
-    private final EmailJobService emailJobService;
-    private final EmailExecutionService emailExecutionService;
-    private final EmailSendingService emailSendingService;
+    private static final long MAX_WAIT_MILLIS = 1000;
 
+    private final EmailJobService emailJobService;
+    private final EmailJobDispatcher emailJobDispatcher;
     private final EmailSchedulerConfig emailConfig;
-
-    public EmailScheduler(EmailJobService emailJobService, EmailExecutionService emailExecutionService,
-                          EmailSendingService emailSendingService, EmailSchedulerConfig emailSchedulerConfig)
+    private final JobTimeline jobTimeline;
+    private final SchedulerLeaderElection leaderElection;
+    private final Timer passTimer;
+    private final Timer tickTimer;
+    private final DistributionSummary dueJobs;
+
+    private volatile boolean running;
+    private boolean leading;
+    private Thread timelineThread;
+
+    public EmailScheduler(EmailJobService emailJobService, EmailJobDispatcher emailJobDispatcher,
+                          EmailSchedulerConfig emailSchedulerConfig, JobTimeline jobTimeline,
+                          SchedulerLeaderElection leaderElection, MeterRegistry meterRegistry)
     {
+        this.passTimer = Timer.builder("email.scheduler.pass")
+                .description("Time spent finding and handing out due jobs")
+                .register(meterRegistry);
+        this.tickTimer = Timer.builder("email.scheduler.tick")
+                .description("Time from dispatching a batch of due jobs until all of them finished")
+                .register(meterRegistry);
+        this.dueJobs = DistributionSummary.builder("email.scheduler.due.jobs")
+                .description("Jobs submitted per dispatch tick")
+                .baseUnit("jobs")
+                .register(meterRegistry);
+        this.leaderElection=leaderElection;
         this.emailJobService=emailJobService;
-        this.emailExecutionService=emailExecutionService;
-        this.emailSendingService=emailSendingService;
+        this.emailJobDispatcher=emailJobDispatcher;
         this.emailConfig=emailSchedulerConfig;
+        this.jobTimeline=jobTimeline;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        resyncTimeline();
+
+        leading = leaderElection.isLeader();
+        running = true;
+        timelineThread = Thread.ofPlatform().daemon().name("email-timeline").start(this::runTimeline);
+        logger.info("Email scheduler started with {} jobs on the timeline", jobTimeline.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (timelineThread != null) {
+            timelineThread.interrupt();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.scheduler.timeline-resync-ms:600000}",
+            initialDelayString = "${app.email.scheduler.timeline-resync-ms:600000}")
+    public void resyncTimeline() {
+        try {
+            jobTimeline.replaceAll(emailJobService.findScheduledRunTimes());
+            logger.debug("Timeline resynced, {} jobs scheduled, next due at {}",
+                    jobTimeline.size(), jobTimeline.nextDueTime().orElse(null));
+        } catch (Exception e) {
+            logger.error("Failed to resync the job timeline", e);
+        }
+    }
+
+    private void runTimeline() {
+        while (running) {
+            try {
+                List<UUID> due = jobTimeline.awaitDue(MAX_WAIT_MILLIS);
+
+                // followers keep draining the timeline and rebuild it when they take over
+                if (!leaderElection.isLeader()) {
+                    if (leading) {
+                        logger.info("No longer the scheduler leader, pausing dispatch");
+                    }
+                    leading = false;
+                    continue;
+                }
+                if (!leading) {
+                    leading = true;
+                    logger.info("Took over as scheduler leader, catching up on due jobs");
+                    resyncTimeline();
+                    executeScheduledJobs();
+                    continue;
+                }
+
+                if (!due.isEmpty()) {
+                    logger.debug("{} jobs came due on the timeline", due.size());
+                    executeScheduledJobs();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Unexpected error in the timeline loop", e);
+            }
+        }
     }
 
-    @Scheduled(fixedRate = 600000)
     public void executeScheduledJobs()
     {
         logger.info("Starting scheduled jobs execution check");
+        Timer.Sample sample = Timer.start();
         try{
-            List<EmailJobDto> jobsToExecute=emailJobService.findJobsToExecute();
-            logger.info("Found {} jobs to execute", jobsToExecute.size());
-
-            for(EmailJobDto job:jobsToExecute)
-            {
-                executeJob(job);
+            if (emailConfig.isClaimEnabled()) {
+                executeClaimedJobs();
+                return;
             }
+
+            executeDueJobsInChunks();
         }catch(Exception e)
         {
             logger.error("Error while executing scheduled jobs", e);
+        } finally {
+            sample.stop(passTimer);
         }
     }
 
-    private void executeJob(EmailJobDto job) {
-        logger.info("Executing job: {} (ID: {})", job.getId(), job.getId());
-
-        try {
-
-            logger.info("Attempting to send email for job {}", job.getId());
-
-            emailSendingService.sendEmailWithTemplate(
-                    job,
-                    job.getSenderEmail(),
-                    job.getReceiverEmails(),
-                    job.getEmailTemplate()
-            );
-
-            logger.info("Email successfully sent for job {}", job.getId());
-
-            logger.info("SUCCESS execution logged for job {}", job.getId());
+    /**
+     * Walks the due set in {@code chunk-size} slices ordered by (next_run_time, id), handing
+     * each slice to the dispatcher before reading the next one. The dispatcher blocks while
+     * it is saturated, so at most one chunk plus the in-flight jobs are held in memory.
+     */
+    private void executeDueJobsInChunks() {
+        LocalDateTime now = LocalDateTime.now();
+        int chunkSize = Math.max(1, emailConfig.getChunkSize());
+
+        EmailJobDto last = null;
+        int total = 0;
+        List<EmailJobDto> chunk;
+        do {
+            chunk = emailJobService.findJobsToExecute(now, last, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            total += chunk.size();
+            last = chunk.get(chunk.size() - 1);
+            track(emailJobDispatcher.dispatch(chunk));
+        } while (chunk.size() == chunkSize);
 
+        logger.info("Found {} jobs to execute", total);
+    }
 
-        } catch (Exception e) {
+    private void executeClaimedJobs() {
+        String nodeId = emailConfig.getNodeId();
+        int batchSize = emailConfig.getClaimBatchSize();
 
-            logger.error("Job {} failed completely after all retries: {}", job.getId(), e.getMessage());
-            logger.info("FINAL FAILURE execution logged for job {}", job.getId());
+        List<EmailJobDto> claimed;
+        do {
+            claimed = emailJobService.claimJobsToExecute(nodeId, batchSize, emailConfig.getClaimLeaseSeconds());
+            if (!claimed.isEmpty()) {
+                logger.info("Node {} claimed {} jobs to execute", nodeId, claimed.size());
+                track(emailJobDispatcher.dispatch(claimed));
+            }
+        } while (claimed.size() == batchSize);
+    }
 
-        }
+    private void track(DispatchTick tick) {
+        logger.info("Tick {} submitted {} jobs ({} skipped, still in flight from an earlier tick)",
+                tick.getNumber(), tick.getSubmitted(), tick.getSkipped());
+        dueJobs.record(tick.getSubmitted());
+
+        tick.getCompletion().thenAccept(done -> {
+            tickTimer.record(done.getElapsed().toNanos(), TimeUnit.NANOSECONDS);
+            logger.info("Tick {} finished in {} ms: {} succeeded, {} queued for retry, {} failed, {} skipped, {} misfired, {} superseded",
+                    done.getNumber(), done.getElapsed().toMillis(), done.getSucceeded(), done.getRetried(),
+                    done.getFailed(), done.getSkipped(), done.getMisfired(), done.getSuperseded());
+        });
     }
 
 
-}
\ No newline at end of file
+}
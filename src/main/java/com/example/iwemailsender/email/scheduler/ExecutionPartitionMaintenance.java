@@ -0,0 +1,186 @@
+package com.example.iwemailsender.email.scheduler;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import com.example.iwemailsender.infrastructure.enums.PartitionRetentionAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the monthly partitions of {@code email_executions} in shape: creates the next
+ * few months ahead of time and drops (or detaches) months older than the retention window,
+ * so pruning history is a metadata change rather than a bulk DELETE.
+ * <p>
+ * Rows that landed in the default partition because their month had no partition yet are
+ * moved into a proper one, so that month can be created and later expired like any other.
+ * Only the scheduler leader runs the DDL.
+ */
+@Component
+public class ExecutionPartitionMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionPartitionMaintenance.class);
+
+    private static final String PARENT_TABLE = "email_executions";
+    private static final String PARTITION_PREFIX = PARENT_TABLE + "_";
+    private static final String DEFAULT_PARTITION = PARENT_TABLE + "_default";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT child.relname
+            FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE parent.relname = ?
+            """;
+
+    private static final String STRANDED_MONTHS_SQL =
+            "SELECT DISTINCT to_char(executed_at, 'YYYY_MM') FROM " + DEFAULT_PARTITION;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmailSchedulerConfig emailSchedulerConfig;
+    private final SchedulerLeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExecutionPartitionMaintenance(JdbcTemplate jdbcTemplate, EmailSchedulerConfig emailSchedulerConfig,
+                                         SchedulerLeaderElection leaderElection, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.emailSchedulerConfig = emailSchedulerConfig;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.email.execution-partitions.maintenance-cron:0 15 3 * * *}")
+    public synchronized void maintain() {
+        if (!leaderElection.isLeader()) {
+            logger.debug("Not the scheduler leader, skipping partition maintenance");
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        createPartitionsAhead(current);
+        expirePartitions(current);
+    }
+
+    // a new leader may have missed the last run; the heartbeat thread must not wait for the DDL
+    @EventListener(LeadershipGrantedEvent.class)
+    public void onLeadershipGranted() {
+        Thread.ofVirtual().name("partition-maintenance").start(this::maintain);
+    }
+
+    void createPartitionsAhead(YearMonth current) {
+        Set<YearMonth> months = new TreeSet<>();
+        int monthsAhead = Math.max(0, emailSchedulerConfig.getExecutionPartitionMonthsAhead());
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(current.plusMonths(i));
+        }
+        jdbcTemplate.queryForList(STRANDED_MONTHS_SQL, String.class).stream()
+                .map(suffix -> monthOf(PARTITION_PREFIX + suffix))
+                .filter(Objects::nonNull)
+                .forEach(months::add);
+
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, PARENT_TABLE));
+        for (YearMonth month : months) {
+            String partition = partitionName(month);
+            if (existing.contains(partition)) {
+                continue;
+            }
+            try {
+                createPartition(month, partition);
+            } catch (DataAccessException e) {
+                logger.error("Could not create partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Postgres refuses to add a partition while the default partition holds rows in its range,
+     * so those rows are moved over with the default detached, all in one transaction.
+     */
+    private void createPartition(YearMonth month, String partition) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        String createSql = String.format("CREATE TABLE %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                partition, PARENT_TABLE, month.atDay(1), month.plusMonths(1).atDay(1));
+
+        Boolean stranded = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE executed_at >= ? AND executed_at < ?)",
+                Boolean.class, from, to);
+        if (!Boolean.TRUE.equals(stranded)) {
+            jdbcTemplate.execute(createSql);
+            logger.info("Created execution partition {}", partition);
+            return;
+        }
+
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", PARENT_TABLE, DEFAULT_PARTITION));
+            jdbcTemplate.execute(createSql);
+            int rows = jdbcTemplate.update("INSERT INTO " + partition + " SELECT * FROM " + DEFAULT_PARTITION
+                    + " WHERE executed_at >= ? AND executed_at < ?", from, to);
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE executed_at >= ? AND executed_at < ?", from, to);
+            jdbcTemplate.execute(String.format("ALTER TABLE %s ATTACH PARTITION %s DEFAULT", PARENT_TABLE, DEFAULT_PARTITION));
+            return rows;
+        });
+        logger.warn("Created execution partition {} and moved {} rows into it from the default partition", partition, moved);
+    }
+
+    void expirePartitions(YearMonth current) {
+        int retentionMonths = emailSchedulerConfig.getExecutionRetentionMonths();
+        if (retentionMonths <= 0) {
+            return;
+        }
+
+        LocalDate cutoff = current.minusMonths(retentionMonths).atDay(1);
+        PartitionRetentionAction action = emailSchedulerConfig.getExecutionRetentionAction();
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, PARENT_TABLE);
+
+        for (String partition : partitions) {
+            YearMonth month = monthOf(partition);
+            if (month == null || month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                continue;
+            }
+            try {
+                if (action == PartitionRetentionAction.DETACH) {
+                    jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", PARENT_TABLE, partition));
+                } else {
+                    jdbcTemplate.execute(String.format("DROP TABLE IF EXISTS %s", partition));
+                }
+                logger.info("Expired execution partition {} ({})", partition, action);
+            } catch (DataAccessException e) {
+                logger.error("Could not expire partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX_FORMAT);
+    }
+
+    private YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX_FORMAT);
+        } catch (DateTimeParseException e) {
+            // the default partition and anything not created by us
+            return null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.iwemailsender.email.scheduler;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import com.example.iwemailsender.infrastructure.DedicatedConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+/**
+ * Spreads job changes between nodes over Postgres {@code LISTEN/NOTIFY}. A save on any node
+ * publishes {@code <jobId>|<nextRunTime>} on {@value #CHANNEL}; every node puts the new run time
+ * on its {@link JobTimeline}, which wakes the timeline thread at once if the job is now due
+ * sooner than whatever it was waiting for. An empty run time takes the job off the timeline.
+ * The listening session is a dedicated connection outside the application pool.
+ */
+@Component
+public class JobChangeNotifications {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobChangeNotifications.class);
+
+    static final String CHANNEL = "email_job_changed";
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DedicatedConnectionFactory connectionFactory;
+    private final JobTimeline jobTimeline;
+    // looked up lazily: the scheduler depends on the job service, which publishes through this class
+    private final ObjectProvider<EmailScheduler> emailScheduler;
+    private final EmailSchedulerConfig emailSchedulerConfig;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public JobChangeNotifications(JdbcTemplate jdbcTemplate, DedicatedConnectionFactory connectionFactory, JobTimeline jobTimeline,
+                                  ObjectProvider<EmailScheduler> emailScheduler, EmailSchedulerConfig emailSchedulerConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.connectionFactory = connectionFactory;
+        this.jobTimeline = jobTimeline;
+        this.emailScheduler = emailScheduler;
+        this.emailSchedulerConfig = emailSchedulerConfig;
+    }
+
+    /**
+     * Inside a transaction Postgres holds the notification back until commit, so listeners
+     * never see a change that was rolled back.
+     */
+    public void publish(UUID jobId, LocalDateTime runAt) {
+        if (!emailSchedulerConfig.isNotifyEnabled() || jobId == null) {
+            return;
+        }
+
+        String payload = jobId + "|" + (runAt != null ? runAt : "");
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, payload);
+        } catch (DataAccessException e) {
+            // the periodic resync still picks the change up
+            logger.warn("Failed to publish change for job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!emailSchedulerConfig.isNotifyEnabled()) {
+            return;
+        }
+
+        running = true;
+        listenerThread = Thread.ofPlatform().daemon().name("email-job-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = connectionFactory.open()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                logger.info("Listening for job changes on {}", CHANNEL);
+
+                // changes published while we were disconnected are lost, so reload once
+                if (reconnecting) {
+                    emailScheduler.getObject().resyncTimeline();
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Job change listener lost its connection, reconnecting in {} ms: {}",
+                        RECONNECT_DELAY_MILLIS, e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void apply(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0) {
+            logger.debug("Ignoring malformed job change payload '{}'", payload);
+            return;
+        }
+
+        try {
+            UUID jobId = UUID.fromString(payload.substring(0, separator));
+            String runAt = payload.substring(separator + 1);
+            jobTimeline.schedule(jobId, runAt.isEmpty() ? null : LocalDateTime.parse(runAt));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            logger.debug("Ignoring malformed job change payload '{}'", payload);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.iwemailsender.email.scheduler;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory view of when each enabled job is next due, ordered by run time.
+ * The queue holds exactly one element per job in {@code entries}: scheduling a job at the
+ * time it already has is a no-op, and a changed time replaces the old queue element.
+ */
+@Component
+public class JobTimeline {
+
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public synchronized void schedule(UUID jobId, LocalDateTime runAt) {
+        if (jobId == null) {
+            return;
+        }
+        if (runAt == null) {
+            remove(jobId);
+            return;
+        }
+
+        long dueAtMillis = runAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Entry previous = entries.get(jobId);
+        if (previous != null) {
+            if (previous.dueAtMillis == dueAtMillis) {
+                return;
+            }
+            queue.remove(previous);
+        }
+
+        Entry entry = new Entry(jobId, dueAtMillis);
+        entries.put(jobId, entry);
+        queue.offer(entry);
+    }
+
+    public synchronized void remove(UUID jobId) {
+        if (jobId != null) {
+            Entry entry = entries.remove(jobId);
+            if (entry != null) {
+                queue.remove(entry);
+            }
+        }
+    }
+
+    public synchronized void replaceAll(Map<UUID, LocalDateTime> runTimes) {
+        List<UUID> stale = entries.keySet().stream()
+                .filter(jobId -> !runTimes.containsKey(jobId))
+                .toList();
+        stale.forEach(this::remove);
+        runTimes.forEach(this::schedule);
+    }
+
+    /**
+     * Blocks until at least one job is due or {@code maxWaitMillis} has passed, and returns
+     * every job that is due by then. A job scheduled earlier than the current head wakes the
+     * waiting thread straight away.
+     */
+    public List<UUID> awaitDue(long maxWaitMillis) throws InterruptedException {
+        List<UUID> due = new ArrayList<>();
+
+        Entry entry = queue.poll(maxWaitMillis, TimeUnit.MILLISECONDS);
+        while (entry != null) {
+            // a concurrent reschedule may have replaced the entry between the poll and here
+            if (entries.remove(entry.jobId, entry)) {
+                due.add(entry.jobId);
+            }
+            entry = queue.poll();
+        }
+        return due;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // equal to size() outside of a reschedule; exposed for tests
+    int queuedCount() {
+        return queue.size();
+    }
+
+    public Optional<LocalDateTime> nextDueTime() {
+        return Optional.ofNullable(queue.peek())
+                .map(entry -> LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.dueAtMillis), ZoneId.systemDefault()));
+    }
+
+    private static final class Entry implements Delayed {
+
+        private final UUID jobId;
+        private final long dueAtMillis;
+
+        private Entry(UUID jobId, long dueAtMillis) {
+            this.jobId = jobId;
+            this.dueAtMillis = dueAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof Entry entry) {
+                return Long.compare(dueAtMillis, entry.dueAtMillis);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.iwemailsender.email.scheduler;
+
+/**
+ * Published when this node takes the scheduler lock, for leader-only housekeeping that
+ * should not wait for its next scheduled run.
+ */
+public class LeadershipGrantedEvent {
+
+    private final String nodeId;
+
+    public LeadershipGrantedEvent(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.iwemailsender.email.scheduler;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import com.example.iwemailsender.infrastructure.DedicatedConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks one scheduler node with a session-level {@code pg_try_advisory_lock}. The leader keeps
+ * the connection that took the lock and checks it on every heartbeat; when the leader's session
+ * goes away Postgres releases the lock and the next follower heartbeat takes over.
+ * <p>
+ * Leadership also expires on this node if no heartbeat has confirmed the connection for
+ * {@value #MISSED_HEARTBEATS} heartbeat intervals, so a leader cut off from the database stops
+ * dispatching on its own before Postgres gives the lock to someone else.
+ * <p>
+ * The lock connection is opened outside the application pool, so holding it does not take a
+ * connection away from the senders.
+ */
+@Component
+public class SchedulerLeaderElection {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLeaderElection.class);
+
+    static final int MISSED_HEARTBEATS = 3;
+
+    private final DedicatedConnectionFactory connectionFactory;
+    private final EmailSchedulerConfig emailSchedulerConfig;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Object monitor = new Object();
+    private Connection lockConnection;
+    private volatile boolean leader;
+    private volatile long confirmedAtNanos;
+
+    public SchedulerLeaderElection(DedicatedConnectionFactory connectionFactory, EmailSchedulerConfig emailSchedulerConfig,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.connectionFactory = connectionFactory;
+        this.eventPublisher = eventPublisher;
+        this.emailSchedulerConfig = emailSchedulerConfig;
+    }
+
+    /**
+     * Always true when leader election is disabled, so a single node or a claim/lease setup
+     * runs every tick itself.
+     */
+    public boolean isLeader() {
+        if (!emailSchedulerConfig.isLeaderElectionEnabled()) {
+            return true;
+        }
+        return leader && System.nanoTime() - confirmedAtNanos < leaseNanos();
+    }
+
+    private long leaseNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(MISSED_HEARTBEATS * Math.max(1, emailSchedulerConfig.getLeaderElectionHeartbeatMs()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.scheduler.leader-election.heartbeat-ms:2000}")
+    public void heartbeat() {
+        if (!emailSchedulerConfig.isLeaderElectionEnabled()) {
+            return;
+        }
+
+        boolean acquired;
+        synchronized (monitor) {
+            if (lockConnection != null) {
+                if (isAlive(lockConnection)) {
+                    confirmedAtNanos = System.nanoTime();
+                    return;
+                }
+                logger.warn("Node {} lost its scheduler lock connection, stepping down", emailSchedulerConfig.getNodeId());
+                release();
+            }
+            acquired = tryAcquire();
+        }
+        if (acquired) {
+            eventPublisher.publishEvent(new LeadershipGrantedEvent(emailSchedulerConfig.getNodeId()));
+        }
+    }
+
+    @PreDestroy
+    public void resign() {
+        synchronized (monitor) {
+            if (lockConnection != null) {
+                logger.info("Node {} resigning scheduler leadership", emailSchedulerConfig.getNodeId());
+                release();
+            }
+        }
+    }
+
+    private boolean tryAcquire() {
+        Connection connection = null;
+        boolean acquired = false;
+        try {
+            connection = connectionFactory.open();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, emailSchedulerConfig.getLeaderElectionLockKey());
+                try (ResultSet rs = statement.executeQuery()) {
+                    acquired = rs.next() && rs.getBoolean(1);
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Leader election attempt failed: {}", e.getMessage());
+        } finally {
+            if (!acquired && connection != null) {
+                closeQuietly(connection);
+            }
+        }
+
+        if (acquired) {
+            lockConnection = connection;
+            confirmedAtNanos = System.nanoTime();
+            leader = true;
+            logger.info("Node {} is now the scheduler leader", emailSchedulerConfig.getNodeId());
+        }
+        return acquired;
+    }
+
+    private boolean isAlive(Connection connection) {
+        try {
+            return connection.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release() {
+        leader = false;
+        Connection connection = lockConnection;
+        lockConnection = null;
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, emailSchedulerConfig.getLeaderElectionLockKey());
+            statement.execute();
+        } catch (SQLException e) {
+            logger.debug("Could not unlock on the old lock connection: {}", e.getMessage());
+        }
+        // closing the physical session releases the lock even if the unlock above failed
+        closeQuietly(connection);
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Failed to close connection: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.iwemailsender.email.service;
+
+import com.example.iwemailsender.email.dto.EmailDeliveryDto;
+import com.example.iwemailsender.email.dto.RecipientResultDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface EmailDeliveryService {
+
+    List<String> pendingRecipients(UUID executionId, List<String> recipients);
+    void recordResults(UUID executionId, List<RecipientResultDto> results);
+    List<EmailDeliveryDto> findByExecutionId(UUID executionId);
+    Map<UUID, List<EmailDeliveryDto>> findByExecutionIds(Collection<UUID> executionIds);
+}
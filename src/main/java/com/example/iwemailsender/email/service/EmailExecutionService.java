@@ -1,7 +1,9 @@
 package com.example.iwemailsender.email.service;
 
 import com.example.iwemailsender.email.domain.EmailExecution;
+import com.example.iwemailsender.email.dto.CursorPageDto;
 import com.example.iwemailsender.email.dto.EmailExecutionDto;
+import com.example.iwemailsender.email.dto.ExecutionFilterDto;
 import com.example.iwemailsender.email.dto.LogExecutionDto;
 import com.example.iwemailsender.infrastructure.enums.EmailStatus;
 
@@ -11,9 +13,8 @@ import java.util.UUID;
 
 public interface EmailExecutionService {
     Optional<EmailExecutionDto> save(EmailExecutionDto executionDto);
-    List<EmailExecutionDto> findAll();
+    Optional<CursorPageDto<EmailExecutionDto>> findPage(ExecutionFilterDto filter, String cursor, int size);
     Optional<EmailExecutionDto> findById(UUID id);
-    List<EmailExecutionDto> findByJobId(UUID jobId);
     Optional<EmailExecutionDto> logExecution(LogExecutionDto executionDto);
 
 
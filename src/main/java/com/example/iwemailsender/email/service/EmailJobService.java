@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,8 +19,13 @@ public interface EmailJobService {
     Optional<EmailJobDto> findById(UUID id);
     Optional<EmailJobDto> update(UUID id, UUID userId, EmailJobDto request);
     void deleteById(UUID id);
-    List<EmailJobDto> findJobsToExecute();
+    List<EmailJobDto> findJobsToExecute(LocalDateTime currentTime, EmailJobDto after, int limit);
+    List<EmailJobDto> claimJobsToExecute(String nodeId, int batchSize, int leaseSeconds);
+    boolean startJob(EmailJobDto job, String nodeId, int leaseSeconds);
+    int renewLeases(List<UUID> jobIds, String nodeId, int leaseSeconds);
     void updateNextRunTime(UUID jobId, LocalDateTime nextRunTime);
+    void scheduleRetry(UUID jobId, int attemptCount, LocalDateTime nextAttemptAt, UUID executionId);
+    Map<UUID, LocalDateTime> findScheduledRunTimes();
     List<EmailJobDto> findByUserId(UUID userId);
     void setJobStatus(UUID jobId, boolean enabled);
     LocalDateTime calculateNextRunTime(EmailJobDto job);
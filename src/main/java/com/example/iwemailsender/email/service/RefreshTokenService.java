@@ -0,0 +1,13 @@
+package com.example.iwemailsender.email.service;
+
+import com.example.iwemailsender.email.dto.AuthResponse;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenService {
+
+    String issue(UUID userId);
+    Optional<AuthResponse> refresh(String refreshToken);
+    void revoke(String refreshToken);
+}
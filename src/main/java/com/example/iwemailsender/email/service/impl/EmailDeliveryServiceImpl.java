@@ -0,0 +1,115 @@
+package com.example.iwemailsender.email.service.impl;
+
+import com.example.iwemailsender.email.domain.EmailDelivery;
+import com.example.iwemailsender.email.dto.EmailDeliveryDto;
+import com.example.iwemailsender.email.dto.RecipientResultDto;
+import com.example.iwemailsender.email.mapper.EmailDeliveryMapper;
+import com.example.iwemailsender.email.repository.EmailDeliveryRepository;
+import com.example.iwemailsender.email.service.EmailDeliveryService;
+import com.example.iwemailsender.infrastructure.enums.DeliveryStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class EmailDeliveryServiceImpl implements EmailDeliveryService {
+
+    private final EmailDeliveryRepository emailDeliveryRepository;
+    private final EmailDeliveryMapper emailDeliveryMapper;
+
+    public EmailDeliveryServiceImpl(EmailDeliveryRepository emailDeliveryRepository,
+                                    EmailDeliveryMapper emailDeliveryMapper) {
+        this.emailDeliveryRepository = emailDeliveryRepository;
+        this.emailDeliveryMapper = emailDeliveryMapper;
+    }
+
+    /**
+     * Recipients of the job's current list that have not been sent to under {@code executionId}.
+     * Addresses added since the first attempt get a delivery row; addresses removed since then
+     * are not sent to, and their never-attempted rows are dropped.
+     */
+    @Override
+    @Transactional
+    public List<String> pendingRecipients(UUID executionId, List<String> recipients) {
+        List<EmailDelivery> existing = emailDeliveryRepository.findByEmailExecutionIdOrderByRecipientAsc(executionId);
+
+        if (existing.isEmpty()) {
+            emailDeliveryRepository.saveAll(recipients.stream()
+                    .map(recipient -> new EmailDelivery(executionId, recipient, DeliveryStatus.PENDING))
+                    .toList());
+            return recipients;
+        }
+
+        Map<String, EmailDelivery> byRecipient = existing.stream()
+                .collect(Collectors.toMap(EmailDelivery::getRecipient, Function.identity()));
+        Set<String> current = new HashSet<>(recipients);
+
+        emailDeliveryRepository.deleteAll(existing.stream()
+                .filter(delivery -> delivery.getStatus() == DeliveryStatus.PENDING && !current.contains(delivery.getRecipient()))
+                .toList());
+        emailDeliveryRepository.saveAll(recipients.stream()
+                .filter(recipient -> !byRecipient.containsKey(recipient))
+                .map(recipient -> new EmailDelivery(executionId, recipient, DeliveryStatus.PENDING))
+                .toList());
+
+        return recipients.stream()
+                .filter(recipient -> !byRecipient.containsKey(recipient)
+                        || byRecipient.get(recipient).getStatus() != DeliveryStatus.SENT)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void recordResults(UUID executionId, List<RecipientResultDto> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        Map<String, EmailDelivery> byRecipient = emailDeliveryRepository.findByEmailExecutionIdAndRecipientIn(executionId,
+                        results.stream().map(RecipientResultDto::getRecipient).toList())
+                .stream()
+                .collect(Collectors.toMap(EmailDelivery::getRecipient, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailDelivery> changed = new ArrayList<>(results.size());
+
+        for (RecipientResultDto result : results) {
+            EmailDelivery delivery = byRecipient.computeIfAbsent(result.getRecipient(),
+                    recipient -> new EmailDelivery(executionId, recipient, DeliveryStatus.PENDING));
+
+            delivery.setStatus(result.isDelivered() ? DeliveryStatus.SENT : DeliveryStatus.FAILED);
+            delivery.setSmtpReply(result.getSmtpReply());
+            delivery.setAttemptCount(delivery.getAttemptCount() + 1);
+            delivery.setLastAttemptAt(now);
+            changed.add(delivery);
+        }
+
+        emailDeliveryRepository.saveAll(changed);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmailDeliveryDto> findByExecutionId(UUID executionId) {
+        return emailDeliveryMapper.toDtoList(emailDeliveryRepository.findByEmailExecutionIdOrderByRecipientAsc(executionId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, List<EmailDeliveryDto>> findByExecutionIds(Collection<UUID> executionIds) {
+        if (executionIds.isEmpty()) {
+            return Map.of();
+        }
+        return emailDeliveryRepository.findByEmailExecutionIdIn(executionIds).stream()
+                .map(emailDeliveryMapper::toDto)
+                .collect(Collectors.groupingBy(EmailDeliveryDto::getEmailExecutionId));
+    }
+}
@@ -1,29 +1,47 @@
 package com.example.iwemailsender.email.service.impl;
 
 import com.example.iwemailsender.email.domain.EmailExecution;
-import com.example.iwemailsender.email.domain.EmailJob;
+import com.example.iwemailsender.email.dto.CursorPageDto;
+import com.example.iwemailsender.email.dto.EmailDeliveryDto;
 import com.example.iwemailsender.email.dto.EmailExecutionDto;
+import com.example.iwemailsender.email.dto.ExecutionFilterDto;
 import com.example.iwemailsender.email.dto.LogExecutionDto;
 import com.example.iwemailsender.email.mapper.EmailExecutionMapper;
 import com.example.iwemailsender.email.repository.EmailExecutionRepository;
 import com.example.iwemailsender.email.repository.EmailJobRepository;
+import com.example.iwemailsender.email.repository.JobAddressView;
+import com.example.iwemailsender.email.service.EmailDeliveryService;
 import com.example.iwemailsender.email.service.EmailExecutionService;
+import com.example.iwemailsender.infrastructure.UuidV7;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class EmailExecutionServiceImpl implements EmailExecutionService {
+    private static final int MAX_PAGE_SIZE = 200;
     private final EmailExecutionRepository emailExecutionRepository;
-    private final EmailJobRepository emailJobRepository;
     private final EmailExecutionMapper emailExecutionMapper;
-    public EmailExecutionServiceImpl(EmailExecutionRepository emailExecutionRepository, EmailJobRepository emailJobRepository,EmailExecutionMapper emailExecutionMapper) {
+    private final EmailDeliveryService emailDeliveryService;
+    private final ExecutionLogWriter executionLogWriter;
+    private final EmailJobRepository emailJobRepository;
+    public EmailExecutionServiceImpl(EmailExecutionRepository emailExecutionRepository, EmailExecutionMapper emailExecutionMapper,
+                                     EmailDeliveryService emailDeliveryService, ExecutionLogWriter executionLogWriter,
+                                     EmailJobRepository emailJobRepository) {
         this.emailExecutionRepository = emailExecutionRepository;
         this.emailJobRepository=emailJobRepository;
         this.emailExecutionMapper=emailExecutionMapper;
+        this.emailDeliveryService=emailDeliveryService;
+        this.executionLogWriter=executionLogWriter;
     }
 
     @Override
@@ -41,45 +59,79 @@ public class EmailExecutionServiceImpl implements EmailExecutionService {
     }
 
     @Override
-    public List<EmailExecutionDto> findAll() {
-        List<EmailExecution> executions = emailExecutionRepository.findAll();
-        return emailExecutionMapper.toResponseDTOList(executions);
+    @Transactional(readOnly = true)
+    public Optional<CursorPageDto<EmailExecutionDto>> findPage(ExecutionFilterDto filter, String cursor, int size) {
+        LocalDateTime afterExecutedAt = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+                afterExecutedAt = LocalDateTime.parse(position[0]);
+                afterId = UUID.fromString(position[1]);
+            } catch (RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // one extra row tells whether another page exists without a count query
+        List<EmailExecution> rows = emailExecutionRepository.findPage(filter, afterExecutedAt, afterId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<EmailExecutionDto> items = emailExecutionMapper.toResponseDTOListWithoutJob(rows);
+        Map<UUID, List<EmailDeliveryDto>> deliveries = emailDeliveryService.findByExecutionIds(
+                items.stream().map(EmailExecutionDto::getId).toList());
+        // a page usually holds many runs of a few jobs, so each job's addresses are read once
+        Map<UUID, JobAddressView> jobs = items.isEmpty() ? Map.of() : emailJobRepository.findAddressesByIdIn(
+                        items.stream().map(EmailExecutionDto::getEmailJobId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(JobAddressView::getId, Function.identity()));
+        items.forEach(dto -> {
+            dto.setDeliveries(deliveries.getOrDefault(dto.getId(), List.of()));
+            JobAddressView job = jobs.get(dto.getEmailJobId());
+            if (job != null) {
+                dto.setJobSenderEmail(job.getSenderEmail());
+                dto.setJobReceiverEmails(job.getReceiverEmails());
+            }
+        });
+
+        String nextCursor = null;
+        if (hasMore) {
+            EmailExecution last = rows.get(rows.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getExecutedAt() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+        return Optional.of(new CursorPageDto<>(items, nextCursor, limit));
     }
 
     @Override
     public Optional<EmailExecutionDto> findById(UUID id) {
         return emailExecutionRepository.findById(id)
-                .map(emailExecutionMapper::toResponseDTO);
-    }
-
-    @Override
-    public List<EmailExecutionDto> findByJobId(UUID jobId) {
-        List<EmailExecution> executions = emailExecutionRepository.findByEmailJobIdOrderByExecutedAtDesc(jobId);
-        return emailExecutionMapper.toResponseDTOList(executions);
+                .map(emailExecutionMapper::toResponseDTO)
+                .map(dto -> {
+                    dto.setDeliveries(emailDeliveryService.findByExecutionId(dto.getId()));
+                    return dto;
+                });
     }
 
     @Override
     public Optional<EmailExecutionDto> logExecution(LogExecutionDto dto) {
-        Optional<EmailJob> jobOpt = emailJobRepository.findById(dto.getJobId());
-        if (jobOpt.isEmpty()) {
-            return Optional.empty();
-        }
+        UUID id = dto.getExecutionId() != null ? dto.getExecutionId() : UuidV7.generate();
+        LocalDateTime executedAt = LocalDateTime.now();
 
-        EmailJob job = jobOpt.get();
-        EmailExecution execution = new EmailExecution();
-        execution.setEmailJob(job);
-        execution.setExecutedAt(LocalDateTime.now());
-        execution.setStatus(dto.getStatus());
-        execution.setErrorMessage(dto.getErrorMessage());
-        execution.setRetryAttempt(dto.getRetryAttempt());
+        executionLogWriter.enqueue(id, dto.getJobId(), dto.getStatus(), dto.getErrorMessage(), dto.getRetryAttempt(), executedAt);
 
-        try {
-            EmailExecution savedExecution = emailExecutionRepository.save(execution);
-            EmailExecutionDto responseDto = emailExecutionMapper.toResponseDTO(savedExecution);
-            return Optional.of(responseDto);
-        } catch (Exception e) {
-            return Optional.empty();
-        }
+        EmailExecutionDto responseDto = new EmailExecutionDto();
+        responseDto.setId(id);
+        responseDto.setEmailJobId(dto.getJobId());
+        responseDto.setExecutedAt(executedAt);
+        responseDto.setCreatedAt(executedAt);
+        responseDto.setStatus(dto.getStatus());
+        responseDto.setErrorMessage(dto.getErrorMessage());
+        responseDto.setRetryAttempt(dto.getRetryAttempt());
+        return Optional.of(responseDto);
     }
 
 }
@@ -1,24 +1,34 @@
 package com.example.iwemailsender.email.service.impl;
 
+import com.example.iwemailsender.config.EmailSchedulerConfig;
 import com.example.iwemailsender.email.domain.EmailJob;
 import com.example.iwemailsender.email.domain.EmailTemplate;
 import com.example.iwemailsender.email.domain.User;
 import com.example.iwemailsender.email.dto.EmailJobDto;
 import com.example.iwemailsender.email.mapper.EmailJobMapper;
+import com.example.iwemailsender.email.scheduler.CronExpressionCache;
+import com.example.iwemailsender.email.scheduler.JobChangeNotifications;
+import com.example.iwemailsender.email.scheduler.JobTimeline;
 import com.example.iwemailsender.email.repository.EmailJobRepository;
+import com.example.iwemailsender.email.repository.JobRunTimeView;
 import com.example.iwemailsender.email.repository.EmailTemplateRepository;
 import com.example.iwemailsender.email.repository.UserRepository;
 import com.example.iwemailsender.email.service.EmailJobService;
+import com.example.iwemailsender.infrastructure.enums.MisfirePolicy;
 import com.example.iwemailsender.infrastructure.enums.RecurrencePattern;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -31,15 +41,27 @@ public class EmailJobServiceImpl implements EmailJobService {
     private final UserRepository userRepository;
     private final EmailJobMapper emailJobMapper;
     private final EmailTemplateRepository emailTemplateRepository;
+    private final JobTimeline jobTimeline;
+    private final JobChangeNotifications jobChangeNotifications;
+    private final EmailSchedulerConfig emailSchedulerConfig;
+    private final CronExpressionCache cronExpressionCache;
 
     public EmailJobServiceImpl(EmailJobRepository emailJobRepository,
                                UserRepository userRepository,
                                EmailJobMapper emailJobMapper,
-                               EmailTemplateRepository emailTemplateRepository) {
+                               EmailTemplateRepository emailTemplateRepository,
+                               JobTimeline jobTimeline,
+                               EmailSchedulerConfig emailSchedulerConfig,
+                               CronExpressionCache cronExpressionCache,
+                               JobChangeNotifications jobChangeNotifications) {
+        this.jobChangeNotifications = jobChangeNotifications;
+        this.emailSchedulerConfig = emailSchedulerConfig;
+        this.cronExpressionCache = cronExpressionCache;
         this.emailJobRepository = emailJobRepository;
         this.userRepository = userRepository;
         this.emailJobMapper = emailJobMapper;
         this.emailTemplateRepository = emailTemplateRepository;
+        this.jobTimeline = jobTimeline;
     }
 
     @Override
@@ -53,9 +75,13 @@ public class EmailJobServiceImpl implements EmailJobService {
             EmailJob emailJob = emailJobMapper.toEntity(request);
             emailJob.setRecurrencePattern(request.getRecurrencePattern());
             emailJob.setCreatedBy(userOpt.get());
-            emailJob.setNextRunTime(request.getStartDate());
+            emailJob.setCronExpression(cronExpressionFor(request));
+            emailJob.setNextRunTime(firstRunTime(emailJob));
             emailJob.setEnabled(true);
             emailJob.setOneTime(false);
+            if (request.getDeliveryMode() != null) {
+                emailJob.setDeliveryMode(request.getDeliveryMode());
+            }
 
             if (request.getEmailTemplateId() != null) {
                 emailTemplateRepository.findById(request.getEmailTemplateId())
@@ -63,6 +89,8 @@ public class EmailJobServiceImpl implements EmailJobService {
             }
 
             EmailJob saved = emailJobRepository.save(emailJob);
+            syncTimeline(saved);
+            publishChange(saved);
             return Optional.of(emailJobMapper.toDto(saved));
         } catch (Exception e) {
             e.printStackTrace();
@@ -112,7 +140,11 @@ public class EmailJobServiceImpl implements EmailJobService {
         existing.setEnabled(request.isEnabled());
         existing.setOneTime(request.isOneTime());
         existing.setSendTime(request.getSendTime());
-        existing.setNextRunTime(request.getStartDate());
+        if (request.getDeliveryMode() != null) {
+            existing.setDeliveryMode(request.getDeliveryMode());
+        }
+        existing.setCronExpression(cronExpressionFor(request));
+        existing.setNextRunTime(firstRunTime(existing));
         existing.setUpdatedAt(LocalDateTime.now());
 
         if (request.getEmailTemplateId() != null) {
@@ -122,27 +154,113 @@ public class EmailJobServiceImpl implements EmailJobService {
         }
 
         EmailJob saved = emailJobRepository.save(existing);
+        syncTimeline(saved);
+        publishChange(saved);
         return Optional.of(emailJobMapper.toDto(saved));
     }
 
     @Override
     public void deleteById(UUID id) {
         emailJobRepository.deleteById(id);
+        jobTimeline.remove(id);
+        jobChangeNotifications.publish(id, null);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<EmailJobDto> findJobsToExecute() {
-        return emailJobMapper.toDtoList(emailJobRepository.findJobsToExecute(LocalDateTime.now()));
+    public List<EmailJobDto> findJobsToExecute(LocalDateTime currentTime, EmailJobDto after, int limit) {
+        List<EmailJob> jobs = after == null
+                ? emailJobRepository.findJobsToExecute(currentTime, Limit.of(limit))
+                : emailJobRepository.findJobsToExecuteAfter(currentTime, after.getNextRunTime(), after.getId(), Limit.of(limit));
+        return emailJobMapper.toScheduledDtoList(jobs);
+    }
+
+    @Override
+    @Transactional
+    public List<EmailJobDto> claimJobsToExecute(String nodeId, int batchSize, int leaseSeconds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> ids = emailJobRepository.lockJobsToClaim(now, batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        emailJobRepository.claimJobs(ids, nodeId, now.plusSeconds(leaseSeconds));
+        logger.debug("Node {} claimed {} jobs", nodeId, ids.size());
+        return emailJobMapper.toScheduledDtoList(emailJobRepository.findWithTemplateByIdIn(ids));
+    }
+
+    /**
+     * Takes the job's lease if it still has the run time and attempt count {@code job} was read
+     * with. Returns false when the job has moved on since, e.g. an earlier copy already sent it.
+     */
+    @Override
+    @Transactional
+    public boolean startJob(EmailJobDto job, String nodeId, int leaseSeconds) {
+        LocalDateTime now = LocalDateTime.now();
+        return emailJobRepository.startJob(job.getId(), job.getNextRunTime(), job.getAttemptCount(),
+                nodeId, now, now.plusSeconds(leaseSeconds)) == 1;
     }
 
     @Override
+    @Transactional
+    public int renewLeases(List<UUID> jobIds, String nodeId, int leaseSeconds) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        return emailJobRepository.renewLeases(jobIds, nodeId, LocalDateTime.now().plusSeconds(leaseSeconds));
+    }
+
+    @Override
+    @Transactional
     public void updateNextRunTime(UUID jobId, LocalDateTime nextRunTime) {
-        emailJobRepository.findById(jobId).ifPresent(job -> {
+        findLeasedJob(jobId).ifPresent(job -> {
             job.setNextRunTime(nextRunTime);
-            emailJobRepository.save(job);
+            job.setAttemptCount(0);
+            job.setNextAttemptAt(null);
+            job.setCurrentExecutionId(null);
+            job.setClaimedBy(null);
+            job.setLeaseUntil(null);
+            EmailJob saved = emailJobRepository.save(job);
+            syncTimeline(saved);
+        });
+    }
+
+    @Override
+    @Transactional
+    public void scheduleRetry(UUID jobId, int attemptCount, LocalDateTime nextAttemptAt, UUID executionId) {
+        findLeasedJob(jobId).ifPresent(job -> {
+            job.setAttemptCount(attemptCount);
+            job.setNextAttemptAt(nextAttemptAt);
+            job.setCurrentExecutionId(executionId);
+            job.setClaimedBy(null);
+            job.setLeaseUntil(null);
+            EmailJob saved = emailJobRepository.save(job);
+            syncTimeline(saved);
         });
     }
+
+    /**
+     * Locks the job and returns it only if this node still holds its lease (or nobody does).
+     * Once the lease has expired and another node has claimed the job, that node owns the
+     * next write and ours is dropped.
+     */
+    private Optional<EmailJob> findLeasedJob(UUID jobId) {
+        String nodeId = emailSchedulerConfig.getNodeId();
+        return emailJobRepository.findByIdForUpdate(jobId).filter(job -> {
+            if (job.getClaimedBy() == null || job.getClaimedBy().equals(nodeId)) {
+                return true;
+            }
+            logger.warn("Job {} is now leased by {}, node {} leaves it alone", jobId, job.getClaimedBy(), nodeId);
+            return false;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, LocalDateTime> findScheduledRunTimes() {
+        return emailJobRepository.findScheduledRunTimes().stream()
+                .collect(Collectors.toMap(JobRunTimeView::getId, JobRunTimeView::getNextRunTime));
+    }
     @Override
     public List<EmailJobDto> findByUserId(UUID userId) {
         return emailJobMapper.toDtoList(emailJobRepository.findByCreatedById(userId));
@@ -154,16 +272,66 @@ public class EmailJobServiceImpl implements EmailJobService {
         if (jobOpt.isPresent()) {
             EmailJob job = jobOpt.get();
             job.setEnabled(enabled);
-            emailJobRepository.save(job);
+            EmailJob saved = emailJobRepository.save(job);
+            syncTimeline(saved);
+            publishChange(saved);
         } else {
             throw new EntityNotFoundException("EmailJob not found with id: " + jobId);
         }
     }
 
+    private void syncTimeline(EmailJob job) {
+        jobTimeline.schedule(job.getId(), timelineRunTime(job));
+    }
+
+    private void publishChange(EmailJob job) {
+        jobChangeNotifications.publish(job.getId(), timelineRunTime(job));
+    }
+
+    // same rules as findScheduledRunTimes, so the timeline never wakes for a job the due query skips
+    private LocalDateTime timelineRunTime(EmailJob job) {
+        if (!job.isEnabled() || job.getNextRunTime() == null) {
+            return null;
+        }
+        LocalDateTime runAt = job.getNextAttemptAt() != null ? job.getNextAttemptAt() : job.getNextRunTime();
+        if (job.getStartDate() != null && job.getStartDate().isAfter(runAt)) {
+            runAt = job.getStartDate();
+        }
+        if (job.getEndDate() != null && job.getEndDate().isBefore(runAt)) {
+            return null;
+        }
+        return runAt;
+    }
+
+    // validates up front so a bad expression is rejected on save rather than at the first tick
+    private String cronExpressionFor(EmailJobDto request) {
+        if (request.getRecurrencePattern() != RecurrencePattern.CRON) {
+            return null;
+        }
+        String expression = request.getCronExpression() == null ? null : request.getCronExpression().trim();
+        cronExpressionCache.get(expression);
+        return expression;
+    }
+
+    private LocalDateTime firstRunTime(EmailJob job) {
+        if (job.getRecurrencePattern() != RecurrencePattern.CRON || job.getStartDate() == null) {
+            return job.getStartDate();
+        }
+        // first fire at or after the start date
+        return cronExpressionCache.next(job.getCronExpression(), job.getStartDate().minusNanos(1));
+    }
+
+    /**
+     * Next run on the job's own grid: the start date (at {@code sendTime}) plus whole periods.
+     * How late the current run was doesn't move the grid. Occurrences missed during downtime
+     * are handled by {@code app.email.scheduler.misfire-policy}: FIRE_ALL returns the next one
+     * after the planned run (capped at {@code misfire-max-catch-up} behind now), the other
+     * policies return the first one in the future.
+     */
     public LocalDateTime calculateNextRunTime(EmailJobDto job) {
         LocalDateTime now = LocalDateTime.now();
 
-        if (job.isOneTime()) {
+        if (job.isOneTime() || job.getRecurrencePattern() == null) {
             return null;
         }
 
@@ -171,35 +339,85 @@ public class EmailJobServiceImpl implements EmailJobService {
             return null;
         }
 
-        LocalDateTime nextRun = now;
-        switch (job.getRecurrencePattern()) {
-            case DAILY:
-                nextRun = nextRun.plusDays(1);
-                break;
-            case WEEKLY:
-                nextRun = nextRun.plusWeeks(1);
-                break;
-            case MONTHLY:
-                nextRun = nextRun.plusMonths(1);
-                break;
-            case YEARLY:
-                nextRun = nextRun.plusYears(1);
-                break;
-            case ONE_TIME:
-
-                return null;
-            default:
-                logger.warn("Unknown recurrence pattern for job {}: {}", job.getId(), job.getRecurrencePattern());
-                return null;
+        RecurrencePattern pattern = job.getRecurrencePattern();
+        if (pattern == RecurrencePattern.ONE_TIME) {
+            return null;
         }
 
-        if (job.getSendTime() != null) {
-            nextRun = nextRun.with(job.getSendTime());
-        }
-        if (job.getEndDate() != null && nextRun.isAfter(job.getEndDate())) {
+        LocalDateTime planned = job.getNextRunTime() != null ? job.getNextRunTime() : now;
+        LocalDateTime nextRun = pattern == RecurrencePattern.CRON
+                ? nextCronRun(job, planned, now)
+                : nextPeriodicRun(job, pattern, planned, now);
+
+        if (nextRun == null || (job.getEndDate() != null && nextRun.isAfter(job.getEndDate()))) {
             return null;
         }
 
         return nextRun;
     }
+
+    private LocalDateTime nextPeriodicRun(EmailJobDto job, RecurrencePattern pattern, LocalDateTime planned, LocalDateTime now) {
+        LocalDateTime anchor = job.getStartDate() != null ? job.getStartDate() : planned;
+        if (job.getSendTime() != null) {
+            anchor = anchor.with(job.getSendTime());
+        }
+
+        long nextIndex;
+        if (emailSchedulerConfig.getMisfirePolicy() == MisfirePolicy.FIRE_ALL) {
+            nextIndex = firstOccurrenceAfter(pattern, anchor, planned);
+            long firstFuture = firstOccurrenceAfter(pattern, anchor, now);
+            nextIndex = Math.max(nextIndex, firstFuture - Math.max(0, emailSchedulerConfig.getMisfireMaxCatchUp()));
+        } else {
+            nextIndex = firstOccurrenceAfter(pattern, anchor, planned.isAfter(now) ? planned : now);
+        }
+
+        return occurrence(pattern, anchor, nextIndex);
+    }
+
+    /**
+     * Cron jobs have no fixed period to count with, so FIRE_ALL walks the missed fire times
+     * one by one; a backlog longer than {@code misfire-max-catch-up} resumes from now instead.
+     */
+    private LocalDateTime nextCronRun(EmailJobDto job, LocalDateTime planned, LocalDateTime now) {
+        CronExpression cron = cronExpressionCache.get(job.getCronExpression());
+
+        if (emailSchedulerConfig.getMisfirePolicy() != MisfirePolicy.FIRE_ALL) {
+            return cron.next(planned.isAfter(now) ? planned : now);
+        }
+
+        LocalDateTime nextRun = cron.next(planned);
+        int maxCatchUp = Math.max(0, emailSchedulerConfig.getMisfireMaxCatchUp());
+        int missed = 0;
+        for (LocalDateTime fire = nextRun; fire != null && !fire.isAfter(now) && missed <= maxCatchUp; fire = cron.next(fire)) {
+            missed++;
+        }
+        return missed > maxCatchUp ? cron.next(now) : nextRun;
+    }
+
+    private long firstOccurrenceAfter(RecurrencePattern pattern, LocalDateTime anchor, LocalDateTime reference) {
+        long index = Math.max(0, unitOf(pattern).between(anchor, reference));
+        while (index > 0 && occurrence(pattern, anchor, index - 1).isAfter(reference)) {
+            index--;
+        }
+        while (!occurrence(pattern, anchor, index).isAfter(reference)) {
+            index++;
+        }
+        return index;
+    }
+
+    // always offset from the anchor, so month-end clamping (Jan 31 -> Feb 28) doesn't stick
+    private LocalDateTime occurrence(RecurrencePattern pattern, LocalDateTime anchor, long index) {
+        return anchor.plus(index, unitOf(pattern));
+    }
+
+    private ChronoUnit unitOf(RecurrencePattern pattern) {
+        return switch (pattern) {
+            case DAILY -> ChronoUnit.DAYS;
+            case WEEKLY -> ChronoUnit.WEEKS;
+            case MONTHLY -> ChronoUnit.MONTHS;
+            case YEARLY -> ChronoUnit.YEARS;
+            case ONE_TIME -> throw new IllegalArgumentException("ONE_TIME jobs do not recur");
+            case CRON -> throw new IllegalArgumentException("CRON jobs have no fixed interval unit");
+        };
+    }
 }
@@ -3,47 +3,119 @@ package com.example.iwemailsender.email.service.impl;
 import com.example.iwemailsender.config.EmailSchedulerConfig;
 import com.example.iwemailsender.email.domain.EmailJob;
 import com.example.iwemailsender.email.domain.EmailTemplate;
+import com.example.iwemailsender.email.dto.BulkSendResultDto;
 import com.example.iwemailsender.email.dto.EmailDto;
 import com.example.iwemailsender.email.dto.EmailExecutionDto;
 import com.example.iwemailsender.email.dto.EmailJobDto;
 import com.example.iwemailsender.email.dto.LogExecutionDto;
+import com.example.iwemailsender.email.dto.RecipientResultDto;
+import com.example.iwemailsender.email.service.EmailDeliveryService;
 import com.example.iwemailsender.email.service.EmailExecutionService;
 import com.example.iwemailsender.email.service.EmailJobService;
 import com.example.iwemailsender.email.service.EmailSendingService;
+import com.example.iwemailsender.email.template.CompiledEmailTemplate;
+import com.example.iwemailsender.email.template.TemplateRenderCache;
+import com.example.iwemailsender.infrastructure.enums.DeliveryMode;
 import com.example.iwemailsender.infrastructure.enums.EmailStatus;
+import com.example.iwemailsender.infrastructure.enums.MisfirePolicy;
+import com.example.iwemailsender.infrastructure.enums.SendOutcome;
+import com.example.iwemailsender.infrastructure.mail.PooledJavaMailSender;
+import com.example.iwemailsender.infrastructure.UuidV7;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+import jakarta.mail.Address;
 import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPMessage;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
 public class EmailSendingServiceImpl implements EmailSendingService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailSendingServiceImpl.class);
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     private final JavaMailSender mailSender;
     private final ObjectMapper objectMapper;
     private final EmailSchedulerConfig emailConfig;
     private final EmailExecutionService emailExecutionService;
     private final EmailJobService emailJobService;
-    public EmailSendingServiceImpl(JavaMailSender mailSender, EmailSchedulerConfig emailConfig, EmailExecutionService emailExecutionService, EmailJobService emailJobService) {
+    private final EmailDeliveryService emailDeliveryService;
+    private final TemplateRenderCache templateRenderCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<SendOutcome, Timer> jobTimers = new EnumMap<>(SendOutcome.class);
+    private final Timer failedJobTimer;
+    private final Timer singleSentTimer;
+    private final Timer singleFailedTimer;
+    private final Timer batchSentTimer;
+    private final Timer batchPartialTimer;
+    private final Timer batchFailedTimer;
+    private final Counter retryCounter;
+    private final Counter recoverCounter;
+    public EmailSendingServiceImpl(JavaMailSender mailSender, EmailSchedulerConfig emailConfig, EmailExecutionService emailExecutionService, EmailJobService emailJobService,
+                                   EmailDeliveryService emailDeliveryService, TemplateRenderCache templateRenderCache,
+                                   MeterRegistry meterRegistry) {
         this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        for (SendOutcome outcome : SendOutcome.values()) {
+            jobTimers.put(outcome, jobTimer(outcome.name().toLowerCase()));
+        }
+        this.failedJobTimer = jobTimer("failed");
+        this.singleSentTimer = smtpTimer("single", "success");
+        this.singleFailedTimer = smtpTimer("single", "failure");
+        this.batchSentTimer = smtpTimer("batch", "success");
+        this.batchPartialTimer = smtpTimer("batch", "partial");
+        this.batchFailedTimer = smtpTimer("batch", "failure");
+        this.retryCounter = Counter.builder("email.job.retries")
+                .description("Failed attempts that were queued for another try")
+                .register(meterRegistry);
+        this.recoverCounter = Counter.builder("email.job.recovered")
+                .description("Jobs that ran out of attempts and went through recovery")
+                .register(meterRegistry);
+        this.templateRenderCache = templateRenderCache;
+        this.emailDeliveryService = emailDeliveryService;
         this.emailJobService = emailJobService;
         this.objectMapper = new ObjectMapper();
         this.emailConfig = emailConfig;
@@ -55,57 +127,301 @@ public class EmailSendingServiceImpl implements EmailSendingService {
     public void sendEmail(EmailDto request) throws Exception {
         logger.info("Sending email from {} to {}", request.getFrom(), request.getTo());
 
+        List<RecipientResultDto> failed = deliver(request, completed -> { }).stream()
+                .filter(result -> !result.isDelivered())
+                .toList();
+
+        if (!failed.isEmpty()) {
+            throw new Exception("Failed to send email: " + describeFailures(failed, request.getTo().size()));
+        }
+    }
+
+    /**
+     * Sends one message per recipient; {@code completed} sees each result as soon as the SMTP
+     * server has answered.
+     */
+    private List<RecipientResultDto> deliver(EmailDto request, Consumer<List<RecipientResultDto>> completed) {
+        List<RecipientResultDto> results = new ArrayList<>(request.getTo().size());
         for (String recipient : request.getTo()) {
+            RecipientResultDto result = sendToRecipient(request, recipient);
+            completed.accept(List.of(result));
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Sends one message per chunk of {@code app.email.delivery.batch-size} recipients, each
+     * recipient only in the envelope (RCPT TO). Rejected RCPTs are reported per address while
+     * the rest of the chunk is still delivered. {@code completed} sees each chunk once it is sent.
+     */
+    private List<RecipientResultDto> deliverBatch(EmailDto request, Consumer<List<RecipientResultDto>> completed) {
+        if (!(mailSender instanceof PooledJavaMailSender pooledMailSender)) {
+            return deliver(request, completed);
+        }
+
+        int batchSize = Math.max(1, emailConfig.getDeliveryBatchSize());
+        List<String> recipients = request.getTo();
+        List<RecipientResultDto> results = new ArrayList<>(recipients.size());
+        for (int from = 0; from < recipients.size(); from += batchSize) {
+            List<String> chunk = recipients.subList(from, Math.min(from + batchSize, recipients.size()));
+            List<RecipientResultDto> chunkResults = sendToRecipients(pooledMailSender, request, chunk);
+            completed.accept(chunkResults);
+            results.addAll(chunkResults);
+        }
+        return results;
+    }
+
+    private List<RecipientResultDto> sendToRecipients(PooledJavaMailSender pooledMailSender, EmailDto request, List<String> chunk) {
+        long start = System.nanoTime();
+        Map<String, String> rejected = new LinkedHashMap<>();
+        Map<Address, String> addresses = new LinkedHashMap<>();
+        for (String recipient : chunk) {
             try {
-                MimeMessage message = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+                addresses.putIfAbsent(new InternetAddress(recipient, true), recipient);
+            } catch (AddressException e) {
+                rejected.put(recipient, "Invalid address: " + e.getMessage());
+            }
+        }
 
+        String reply = null;
+        if (!addresses.isEmpty()) {
+            long sendStart = System.nanoTime();
+            try {
+                SMTPMessage message = new SMTPMessage(pooledMailSender.getSession());
+                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
                 helper.setFrom(request.getFrom());
-                helper.setTo(recipient);
                 helper.setSubject(request.getSubject());
                 helper.setText(request.getBody(), true);
+                message.setHeader("To", "undisclosed-recipients:;");
+                message.setSendPartial(true);
+
+                pooledMailSender.throttle(message, addresses.size());
+                sendStart = System.nanoTime();
+                reply = pooledMailSender.execute(transport -> {
+                    PooledJavaMailSender.prepare(message);
+                    transport.send(message, addresses.keySet().toArray(new Address[0]));
+                    return transport.getLastServerResponse();
+                });
+                batchSentTimer.record(System.nanoTime() - sendStart, TimeUnit.NANOSECONDS);
+                logger.info("Batch of {} recipients accepted: {}", addresses.size(), reply);
+
+            } catch (SendFailedException e) {
+                collectRejected(e, addresses, rejected);
+                Set<Address> sent = e.getValidSentAddresses() != null
+                        ? new HashSet<>(Arrays.asList(e.getValidSentAddresses()))
+                        : Set.of();
+                addresses.forEach((address, recipient) -> {
+                    if (!sent.contains(address)) {
+                        rejected.putIfAbsent(recipient, smtpReply(e));
+                    }
+                });
+                batchPartialTimer.record(System.nanoTime() - sendStart, TimeUnit.NANOSECONDS);
+                logger.warn("Batch of {} recipients partially failed: {} rejected", addresses.size(), rejected.size());
+
+            } catch (MessagingException | MailException e) {
+                String failure = smtpReply(e);
+                addresses.values().forEach(recipient -> rejected.putIfAbsent(recipient, failure));
+                batchFailedTimer.record(System.nanoTime() - sendStart, TimeUnit.NANOSECONDS);
+                logger.error("Batch of {} recipients failed: {}", addresses.size(), failure);
+            }
+        }
+
+        long elapsed = elapsedMillis(start);
+        List<RecipientResultDto> results = new ArrayList<>(chunk.size());
+        for (String recipient : chunk) {
+            String failure = rejected.get(recipient);
+            results.add(failure == null
+                    ? new RecipientResultDto(recipient, true, reply, elapsed)
+                    : new RecipientResultDto(recipient, false, failure, elapsed));
+        }
+        return results;
+    }
+
+    private void collectRejected(MessagingException e, Map<Address, String> addresses, Map<String, String> rejected) {
+        Exception next = e;
+        while (next != null) {
+            if (next instanceof SMTPAddressFailedException addressFailed && addresses.containsKey(addressFailed.getAddress())) {
+                rejected.put(addresses.get(addressFailed.getAddress()), addressFailed.getMessage().trim());
+            }
+            next = next instanceof MessagingException messagingException ? messagingException.getNextException() : null;
+        }
+    }
+
+    private List<RecipientResultDto> deliverPersonalized(EmailDto request, CompiledEmailTemplate compiled,
+                                                         Map<String, String> variables,
+                                                         Consumer<List<RecipientResultDto>> completed) {
+        List<RecipientResultDto> results = new ArrayList<>(request.getTo().size());
+        for (String recipient : request.getTo()) {
+            String recipientName = recipientName(recipient);
+            Function<String, String> values = name -> switch (name) {
+                case "recipient" -> recipient;
+                case "recipientName" -> recipientName;
+                default -> variables.get(name);
+            };
+            RecipientResultDto result = sendToRecipient(request.getFrom(), recipient,
+                    compiled.getSubject().render(values), compiled.getBody().render(values));
+            completed.accept(List.of(result));
+            results.add(result);
+        }
+        return results;
+    }
+
+    private Map<String, String> templateVariables(EmailJobDto job, EmailTemplate template, UUID executionId, int attempt) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, String> variables = new HashMap<>();
+        variables.put("sender", job.getSenderEmail());
+        variables.put("jobId", String.valueOf(job.getId()));
+        variables.put("templateName", template.getName());
+        variables.put("executionId", String.valueOf(executionId));
+        variables.put("attempt", String.valueOf(attempt));
+        variables.put("date", now.toLocalDate().toString());
+        variables.put("dateTime", now.format(DATE_TIME_FORMAT));
+        if (job.getNextRunTime() != null) {
+            variables.put("scheduledFor", job.getNextRunTime().format(DATE_TIME_FORMAT));
+        }
+        return variables;
+    }
+
+    private String recipientName(String recipient) {
+        try {
+            InternetAddress address = new InternetAddress(recipient);
+            if (address.getPersonal() != null) {
+                return address.getPersonal();
+            }
+            String mailbox = address.getAddress();
+            return mailbox.contains("@") ? mailbox.substring(0, mailbox.indexOf('@')) : mailbox;
+        } catch (AddressException e) {
+            return recipient;
+        }
+    }
+
+    private RecipientResultDto sendToRecipient(EmailDto request, String recipient) {
+        return sendToRecipient(request.getFrom(), recipient, request.getSubject(), request.getBody());
+    }
+
+    private RecipientResultDto sendToRecipient(String from, String recipient, String subject, String body) {
+        long start = System.nanoTime();
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+            helper.setFrom(from);
+            helper.setTo(recipient);
+            helper.setSubject(subject);
+            helper.setText(body, true);
+
+            mailSender.send(message);
+            singleSentTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.info("Email sent successfully to {}", recipient);
+            return new RecipientResultDto(recipient, true, null, elapsedMillis(start));
+
+        } catch (MessagingException | MailException e) {
+            singleFailedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            String reply = smtpReply(e);
+            logger.error("Failed to send email to {}: {}", recipient, reply);
+            return new RecipientResultDto(recipient, false, reply, elapsedMillis(start));
+        }
+    }
 
-                mailSender.send(message);
-                logger.info("Email sent successfully to {}", recipient);
+    private String smtpReply(Exception e) {
+        Deque<Throwable> pending = new ArrayDeque<>();
+        pending.push(e);
+        Set<Throwable> seen = new HashSet<>();
 
-            } catch (MessagingException e) {
-                logger.error("Failed to send email to {}: {}", recipient, e.getMessage());
-                throw new Exception("Failed to send email: " + e.getMessage(), e);
+        while (!pending.isEmpty()) {
+            Throwable current = pending.pop();
+            if (!seen.add(current)) {
+                continue;
+            }
+            if (current instanceof SMTPAddressFailedException || current instanceof SMTPSendFailedException) {
+                return current.getMessage() != null ? current.getMessage().trim() : null;
+            }
+            if (current instanceof MailSendException mailSendException) {
+                mailSendException.getFailedMessages().values().forEach(pending::push);
+            }
+            if (current instanceof MessagingException messagingException && messagingException.getNextException() != null) {
+                pending.push(messagingException.getNextException());
+            }
+            if (current.getCause() != null) {
+                pending.push(current.getCause());
             }
         }
+        return e.getMessage();
+    }
+
+    private String describeFailures(List<RecipientResultDto> failed, int total) {
+        return failed.size() + " of " + total + " recipients failed: " + failed.stream()
+                .map(result -> result.getRecipient() + " (" + result.getSmtpReply() + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    private long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 
     @Override
     public void sendEmailToMultipleRecipients(EmailDto request) throws Exception {
-        logger.info("Sending email from {} to multiple recipients", request.getFrom());
+        BulkSendResultDto result = sendBulk(request);
 
-        Exception lastException = null;
-        int successCount = 0;
-        int failureCount = 0;
-        for (String recipient : request.getTo()) {
-            try {
-                sendEmail(request);
-                successCount++;
-            } catch (Exception e) {
-                lastException = e;
-                failureCount++;
-                logger.warn("Failed to send email to {}: {}", recipient, e.getMessage());
-            }
+        if (result.getFailed() > 0) {
+            List<RecipientResultDto> failed = result.getResults().stream()
+                    .filter(recipientResult -> !recipientResult.isDelivered())
+                    .toList();
+            throw new Exception("Some emails failed to send: " + describeFailures(failed, result.getTotal()));
         }
+    }
 
-        if (lastException != null) {
-            throw new Exception("Some emails failed to send. Last error: " + lastException.getMessage(), lastException);
+    /**
+     * Sends to every address exactly once, at most {@code app.email.bulk.max-concurrency}
+     * at a time, and reports the outcome per address in the order they were given.
+     */
+    @Override
+    public BulkSendResultDto sendBulk(EmailDto request) {
+        logger.info("Sending email from {} to {} recipients", request.getFrom(), request.getTo().size());
+        long start = System.nanoTime();
+
+        List<String> recipients = request.getTo().stream()
+                .map(String::trim)
+                .filter(recipient -> !recipient.isEmpty())
+                .distinct()
+                .toList();
+        Semaphore permits = new Semaphore(Math.max(1, emailConfig.getBulkMaxConcurrency()));
+        List<Future<RecipientResultDto>> futures = new ArrayList<>(recipients.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String recipient : recipients) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return sendToRecipient(request, recipient);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
         }
-        logger.info("Email sending completed. Success: {}", successCount);
 
-        if (failureCount > 0 && successCount == 0) {
-            throw new Exception("Failed to send email to all recipients. Last error: " +
-                    (lastException != null ? lastException.getMessage() : "Unknown error"));
+        List<RecipientResultDto> results = new ArrayList<>(recipients.size());
+        for (int i = 0; i < recipients.size(); i++) {
+            results.add(resultOf(futures.get(i), recipients.get(i)));
         }
-        if (failureCount > 0) {
-            logger.warn("Partial failure: {} emails sent successfully", successCount);
+
+        BulkSendResultDto result = new BulkSendResultDto(results, elapsedMillis(start));
+        logger.info("Bulk send finished in {} ms. Success: {}, failed: {}",
+                result.getDurationMillis(), result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private RecipientResultDto resultOf(Future<RecipientResultDto> future, String recipient) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new RecipientResultDto(recipient, false, "Interrupted before sending", 0);
+        } catch (ExecutionException e) {
+            return new RecipientResultDto(recipient, false, e.getCause().getMessage(), 0);
         }
-        logger.info("Email sending to multiple recipients completed.");
     }
 
 
@@ -114,24 +430,91 @@ public class EmailSendingServiceImpl implements EmailSendingService {
             throw new IllegalArgumentException("Recipients cannot be empty");
         }
 
+        List<String> parsed = null;
         try {
             if (recipients.trim().startsWith("[") && recipients.trim().endsWith("]")) {
-                return objectMapper.readValue(recipients, new TypeReference<List<String>>() {});
+                parsed = objectMapper.readValue(recipients, new TypeReference<List<String>>() {});
             }
         } catch (Exception e) {
             logger.debug("Recipients is not JSON array, treating as comma-separated: {}", e.getMessage());
         }
-        return Arrays.asList(recipients.split("[,;]"));
+        if (parsed == null) {
+            parsed = Arrays.asList(recipients.split("[,;]"));
+        }
+        // one delivery row per recipient, so duplicates would break the (execution, recipient) unique index
+        return parsed.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(recipient -> !recipient.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public SendOutcome sendEmailWithTemplate(EmailJobDto job, String from, String recipients, EmailTemplate template) throws Exception {
+        long start = System.nanoTime();
+        if (isMisfired(job)) {
+            LocalDateTime nextRunTime = emailJobService.calculateNextRunTime(job);
+            emailJobService.updateNextRunTime(job.getId(), nextRunTime);
+            logger.warn("Job {} was due at {} and is past the misfire threshold, skipping to {}",
+                    job.getId(), job.getNextRunTime(), nextRunTime);
+            return recordJob(SendOutcome.SKIPPED_MISFIRE, start);
+        }
+
+        int attempt = job.getAttemptCount() + 1;
+        // the execution id survives retries so each attempt can look up which recipients are still outstanding
+        UUID executionId = job.getCurrentExecutionId() != null ? job.getCurrentExecutionId() : UuidV7.generate();
+
+        try {
+            sendTemplateAttempt(job, from, recipients, template, attempt, executionId);
+            return recordJob(SendOutcome.SENT, start);
+        } catch (Exception e) {
+            if (attempt < emailConfig.getMaxAttempts()) {
+                LocalDateTime nextAttemptAt = LocalDateTime.now().plusSeconds(emailConfig.getDelaySeconds());
+                emailJobService.scheduleRetry(job.getId(), attempt, nextAttemptAt, executionId);
+                retryCounter.increment();
+                logger.warn("Email sending failed for job {} (attempt {}/{}), retry scheduled at {}: {}",
+                        job.getId(), attempt, emailConfig.getMaxAttempts(), nextAttemptAt, e.getMessage());
+                return recordJob(SendOutcome.RETRY_SCHEDULED, start);
+            }
+
+            RuntimeException failure = recoverSendEmailWithTemplate(e, job, from, recipients, template, executionId);
+            failedJobTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw failure;
+        }
+    }
+
+    private SendOutcome recordJob(SendOutcome outcome, long startNanos) {
+        jobTimers.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return outcome;
     }
 
-    @Retryable(
-            value = {Exception.class},
-            maxAttemptsExpression = "#{@emailSchedulerConfig.maxAttempts}",
-            backoff = @Backoff(delayExpression = "#{@emailSchedulerConfig.delaySeconds}")
-    )
-    public void sendEmailWithTemplate(EmailJobDto job, String from, String recipients, EmailTemplate template) throws Exception {
+    private Timer jobTimer(String outcome) {
+        return Timer.builder("email.job.send")
+                .description("Time to process one scheduled job attempt, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Timer smtpTimer(String mode, String outcome) {
+        return Timer.builder("email.smtp.send")
+                .description("SMTP latency of a single message, by delivery mode and outcome")
+                .tags("mode", mode, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private boolean isMisfired(EmailJobDto job) {
+        // only a fresh run can misfire; queued retries are late on purpose
+        return emailConfig.getMisfirePolicy() == MisfirePolicy.SKIP_TO_NEXT
+                && job.getAttemptCount() == 0
+                && job.getNextRunTime() != null
+                && job.getNextRunTime().plusSeconds(emailConfig.getMisfireThresholdSeconds()).isBefore(LocalDateTime.now());
+    }
+
+    private void sendTemplateAttempt(EmailJobDto job, String from, String recipients, EmailTemplate template, int attempt,
+                                     UUID executionId) throws Exception {
 
-        logger.info("Validating email job {}", job);
+        logger.info("Validating email job {} (attempt {})", job.getId(), attempt);
 
         if (template == null) {
             logger.error("EmailTemplate is null for job {}", job);
@@ -158,26 +541,54 @@ public class EmailSendingServiceImpl implements EmailSendingService {
 
         try {
 
-            EmailDto dto = new EmailDto(from, parseRecipients(recipients), template.getSubject(), template.getBody());
-            sendEmail(dto);
+            List<String> pending = emailDeliveryService.pendingRecipients(executionId, parseRecipients(recipients));
+            if (attempt > 1) {
+                logger.info("Resuming job {} with {} undelivered recipients", job.getId(), pending.size());
+            }
+
+            CompiledEmailTemplate compiled = templateRenderCache.get(template);
+            Map<String, String> variables = templateVariables(job, template, executionId, attempt);
+
+            // each delivery row is written as soon as its recipient is done, so a crash mid-loop
+            // only resends to the recipients that had not been reached yet
+            Consumer<List<RecipientResultDto>> record = completed -> emailDeliveryService.recordResults(executionId, completed);
+            List<RecipientResultDto> results;
+            if (!compiled.isPersonalized()) {
+                EmailDto dto = new EmailDto(from, pending, compiled.getSubject().render(variables), compiled.getBody().render(variables));
+                results = job.getDeliveryMode() == DeliveryMode.BATCH ? deliverBatch(dto, record) : deliver(dto, record);
+            } else {
+                if (job.getDeliveryMode() == DeliveryMode.BATCH) {
+                    logger.info("Template '{}' is personalized, sending job {} per recipient", template.getName(), job.getId());
+                }
+                EmailDto dto = new EmailDto(from, pending, template.getSubject(), template.getBody());
+                results = deliverPersonalized(dto, compiled, variables, record);
+            }
+
+            List<RecipientResultDto> failed = results.stream()
+                    .filter(result -> !result.isDelivered())
+                    .toList();
+            if (!failed.isEmpty()) {
+                throw new Exception("Failed to send email: " + describeFailures(failed, pending.size()));
+            }
 
             emailJobService.updateNextRunTime(job.getId(), emailJobService.calculateNextRunTime(job));
-            emailExecutionService.logExecution(createDto(job.getId(), 1, EmailStatus.SUCCESS,  null));
+            emailExecutionService.logExecution(createDto(executionId, job.getId(), attempt, EmailStatus.SUCCESS,  null));
 
             logger.info("Email sent successfully for job {}", job);
 
         } catch (Exception e) {
-            logger.warn("Email sending failed for job {} (attempt will retry): {}", job, e.getMessage());
+            logger.warn("Email sending failed for job {} on attempt {}: {}", job, attempt, e.getMessage());
             throw e;
         }
     }
 
-    @Recover
-    public void recoverSendEmailWithTemplate(Exception e, EmailJobDto job, String from, String recipients, EmailTemplate template) {
+    public RuntimeException recoverSendEmailWithTemplate(Exception e, EmailJobDto job, String from, String recipients, EmailTemplate template,
+                                                         UUID executionId) {
         logger.error("All retry attempts failed for job {}: {}", job.getId(), e.getMessage());
+        recoverCounter.increment();
 
         try {
-            emailExecutionService.logExecution(createDto(job.getId(), emailConfig.getMaxAttempts(), EmailStatus.FAIL, e.getMessage()));
+            emailExecutionService.logExecution(createDto(executionId, job.getId(), emailConfig.getMaxAttempts(), EmailStatus.FAIL, e.getMessage()));
             logger.info("FAIL status logged to database for job {}", job.getId());
         } catch (Exception dbEx) {
             logger.error("CRITICAL: Failed to log FAIL status to database for job {}: {}", job.getId(), dbEx.getMessage());
@@ -263,12 +674,13 @@ public class EmailSendingServiceImpl implements EmailSendingService {
             System.err.println("Alert error: " + ex.getMessage());
         }
 
-        throw new RuntimeException("Email job failed after " + emailConfig.getMaxAttempts() +
+        return new RuntimeException("Email job failed after " + emailConfig.getMaxAttempts() +
                 " retry attempts: " + e.getMessage(), e);
     }
 
-    LogExecutionDto createDto(UUID jobId, int retryAttempt, EmailStatus status, String errorMessage) {
+    LogExecutionDto createDto(UUID executionId, UUID jobId, int retryAttempt, EmailStatus status, String errorMessage) {
         LogExecutionDto dto = new LogExecutionDto();
+        dto.setExecutionId(executionId);
         dto.setJobId(jobId);
         dto.setRetryAttempt(retryAttempt);
         dto.setStatus(status);
@@ -5,6 +5,7 @@ import com.example.iwemailsender.email.dto.EmailTemplateDto;
 import com.example.iwemailsender.email.mapper.EmailTemplateMapper;
 import com.example.iwemailsender.email.repository.EmailTemplateRepository;
 import com.example.iwemailsender.email.service.EmailTemplateService;
+import com.example.iwemailsender.email.template.TemplateRenderCache;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,11 +18,14 @@ public class EmailTemplateServiceImpl implements EmailTemplateService {
 
     private final EmailTemplateRepository emailTemplateRepository;
     private final EmailTemplateMapper emailTemplateMapper;
+    private final TemplateRenderCache templateRenderCache;
 
     public EmailTemplateServiceImpl(EmailTemplateRepository emailTemplateRepository,
-                                    EmailTemplateMapper emailTemplateMapper) {
+                                    EmailTemplateMapper emailTemplateMapper,
+                                    TemplateRenderCache templateRenderCache) {
         this.emailTemplateRepository = emailTemplateRepository;
         this.emailTemplateMapper = emailTemplateMapper;
+        this.templateRenderCache = templateRenderCache;
     }
 
     @Override
@@ -63,6 +67,7 @@ public class EmailTemplateServiceImpl implements EmailTemplateService {
             updatedTemplate.setId(id);
             updatedTemplate.setCreatedAt(existing.getCreatedAt());
             EmailTemplate saved = emailTemplateRepository.save(updatedTemplate);
+            templateRenderCache.invalidate(id);
             return Optional.of(emailTemplateMapper.toDto(saved));
         } catch (Exception e) {
             return Optional.empty();
@@ -72,6 +77,7 @@ public class EmailTemplateServiceImpl implements EmailTemplateService {
     @Override
     public void deleteById(UUID id) {
         emailTemplateRepository.deleteById(id);
+        templateRenderCache.invalidate(id);
     }
 
 }
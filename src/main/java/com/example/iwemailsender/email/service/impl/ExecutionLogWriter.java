@@ -0,0 +1,211 @@
+package com.example.iwemailsender.email.service.impl;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import com.example.iwemailsender.infrastructure.enums.EmailStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind buffer for execution log rows. Senders only enqueue; a background thread
+ * inserts the rows in JDBC batches once {@code batch-size} rows are waiting or
+ * {@code flush-interval-ms} has passed, and drains whatever is left on shutdown.
+ * When the queue is full the caller writes its row itself rather than dropping it.
+ */
+@Component
+public class ExecutionLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionLogWriter.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO email_executions (id, email_job_id, status, error_message, retry_attempt, executed_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int capacity;
+    private final long flushIntervalNanos;
+    private final Timer writeTimer;
+    private final Timer failedWriteTimer;
+    private final DistributionSummary batchRows;
+    private final Counter inlineWrites;
+
+    private final Queue<PendingExecution> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    public ExecutionLogWriter(JdbcTemplate jdbcTemplate, EmailSchedulerConfig emailSchedulerConfig, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, emailSchedulerConfig.getExecutionLogBatchSize());
+        this.capacity = Math.max(batchSize, emailSchedulerConfig.getExecutionLogQueueCapacity());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, emailSchedulerConfig.getExecutionLogFlushIntervalMs()));
+
+        this.writeTimer = writeTimer(meterRegistry, "success");
+        this.failedWriteTimer = writeTimer(meterRegistry, "failure");
+        this.batchRows = DistributionSummary.builder("email.execution.log.batch.rows")
+                .description("Rows per execution log insert")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        this.inlineWrites = Counter.builder("email.execution.log.inline.writes")
+                .description("Rows written by the sender because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("email.execution.log.queued", size, AtomicInteger::get)
+                .description("Execution log rows waiting to be written")
+                .register(meterRegistry);
+    }
+
+    private static Timer writeTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("email.execution.log.write")
+                .description("Latency of one execution log insert batch")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = Thread.ofPlatform()
+                .name("execution-log-writer")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    public void enqueue(UUID id, UUID jobId, EmailStatus status, String errorMessage, int retryAttempt, LocalDateTime executedAt) {
+        PendingExecution execution = new PendingExecution(id, jobId, status, errorMessage, retryAttempt, executedAt);
+
+        if (!running || size.incrementAndGet() > capacity) {
+            if (running) {
+                size.decrementAndGet();
+                inlineWrites.increment();
+                logger.warn("Execution log queue is full ({} rows), writing execution {} inline", capacity, id);
+            }
+            write(List.of(execution));
+            return;
+        }
+
+        queue.offer(execution);
+        if (size.get() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    public int getQueuedCount() {
+        return size.get();
+    }
+
+    private void run() {
+        while (running) {
+            if (size.get() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                logger.error("Execution log flush failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void flush() {
+        List<PendingExecution> batch = new ArrayList<>(batchSize);
+        PendingExecution execution;
+        while ((execution = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(execution);
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<PendingExecution> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, execution) -> {
+                ps.setObject(1, execution.id);
+                ps.setObject(2, execution.jobId);
+                ps.setString(3, execution.status.name());
+                ps.setString(4, execution.errorMessage);
+                ps.setInt(5, execution.retryAttempt);
+                ps.setObject(6, execution.executedAt);
+                ps.setObject(7, now);
+                ps.setObject(8, now);
+            });
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchRows.record(batch.size());
+            logger.debug("Wrote {} execution log rows", batch.size());
+        } catch (DataAccessException e) {
+            failedWriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (batch.size() == 1) {
+                logger.error("Could not write execution {} for job {}: {}",
+                        batch.get(0).id, batch.get(0).jobId, e.getMessage());
+                return;
+            }
+            // one bad row (e.g. its job was deleted meanwhile) must not lose the rest of the batch
+            logger.warn("Batch insert of {} execution rows failed, retrying row by row: {}", batch.size(), e.getMessage());
+            batch.forEach(row -> write(List.of(row)));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        logger.info("Execution log writer stopped");
+    }
+
+    private static final class PendingExecution {
+
+        private final UUID id;
+        private final UUID jobId;
+        private final EmailStatus status;
+        private final String errorMessage;
+        private final int retryAttempt;
+        private final LocalDateTime executedAt;
+
+        private PendingExecution(UUID id, UUID jobId, EmailStatus status, String errorMessage, int retryAttempt,
+                                 LocalDateTime executedAt) {
+            this.id = id;
+            this.jobId = jobId;
+            this.status = status;
+            this.errorMessage = errorMessage;
+            this.retryAttempt = retryAttempt;
+            this.executedAt = executedAt;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.iwemailsender.email.service.impl;
+
+import com.example.iwemailsender.email.domain.RefreshToken;
+import com.example.iwemailsender.email.domain.User;
+import com.example.iwemailsender.email.dto.AuthResponse;
+import com.example.iwemailsender.email.repository.RefreshTokenRepository;
+import com.example.iwemailsender.email.repository.UserRepository;
+import com.example.iwemailsender.email.service.RefreshTokenService;
+import com.example.iwemailsender.security.jwt.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Rotating refresh tokens. Each refresh revokes the presented token and hands out a new one;
+ * presenting a token that was already rotated means it leaked, so every token of that user
+ * is revoked and the user has to log in again.
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh.expiration:86400000}")
+    private long refreshExpirationMillis;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   UserRepository userRepository,
+                                   JwtUtil jwtUtil) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    @Transactional
+    public String issue(UUID userId) {
+        return create(userId).rawToken();
+    }
+
+    @Override
+    @Transactional
+    public Optional<AuthResponse> refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return Optional.empty();
+        }
+
+        Optional<RefreshToken> storedOpt = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        if (storedOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken stored = storedOpt.get();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (stored.getRevokedAt() != null) {
+            int revoked = refreshTokenRepository.revokeAllForUser(stored.getUserId(), now);
+            logger.warn("Rotated refresh token reused for user {}, revoked {} active tokens", stored.getUserId(), revoked);
+            return Optional.empty();
+        }
+        if (!stored.isActive(now)) {
+            return Optional.empty();
+        }
+
+        Optional<User> userOpt = userRepository.findById(stored.getUserId());
+        if (userOpt.isEmpty() || !userOpt.get().isEnabled()) {
+            stored.setRevokedAt(now);
+            return Optional.empty();
+        }
+
+        IssuedToken next = create(stored.getUserId());
+        stored.setRevokedAt(now);
+        stored.setReplacedBy(next.id());
+
+        return Optional.of(new AuthResponse(jwtUtil.generateToken(userOpt.get()), next.rawToken()));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .filter(token -> token.getRevokedAt() == null)
+                .ifPresent(token -> token.setRevokedAt(LocalDateTime.now()));
+    }
+
+    // revoked rows are kept until they expire so reuse of a rotated token can still be detected
+    @Scheduled(cron = "${jwt.refresh.cleanup-cron:0 45 3 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private IssuedToken create(UUID userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken(userId, hash(rawToken),
+                LocalDateTime.now().plusNanos(refreshExpirationMillis * 1_000_000));
+        RefreshToken saved = refreshTokenRepository.save(token);
+        return new IssuedToken(saved.getId(), rawToken);
+    }
+
+    // the token is 256 random bits, so a fast unsalted hash is enough to make a leaked table useless
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record IssuedToken(UUID id, String rawToken) {
+    }
+}
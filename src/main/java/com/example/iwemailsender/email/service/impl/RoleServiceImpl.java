@@ -5,6 +5,8 @@ import com.example.iwemailsender.email.dto.RoleDto;
 import com.example.iwemailsender.email.mapper.RoleMapper;
 import com.example.iwemailsender.email.repository.RoleRepository;
 import com.example.iwemailsender.email.service.RoleService;
+import com.example.iwemailsender.security.event.RoleChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -18,8 +20,10 @@ public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
     private final RoleMapper roleMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RoleServiceImpl(RoleRepository roleRepository, RoleMapper roleMapper) {
+    public RoleServiceImpl(RoleRepository roleRepository, RoleMapper roleMapper, ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
         this.roleRepository = roleRepository;
         this.roleMapper = roleMapper;
     }
@@ -62,6 +66,7 @@ public class RoleServiceImpl implements RoleService {
         existingRole.setUpdatedAt(LocalDateTime.now());
 
         Role savedRole = roleRepository.save(existingRole);
+        eventPublisher.publishEvent(new RoleChangedEvent(savedRole.getId(), savedRole.getName()));
         return Optional.of(roleMapper.toDto(savedRole));
     }
 
@@ -72,6 +77,7 @@ public class RoleServiceImpl implements RoleService {
             return false;
         }
         roleRepository.deleteById(id);
+        eventPublisher.publishEvent(new RoleChangedEvent(id, null));
         return true;
     }
 
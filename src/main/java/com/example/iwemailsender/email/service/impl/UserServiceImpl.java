@@ -4,12 +4,16 @@ import com.example.iwemailsender.email.domain.Role;
 import com.example.iwemailsender.email.domain.User;
 import com.example.iwemailsender.email.dto.UserDto;
 import com.example.iwemailsender.email.mapper.UserMapper;
+import com.example.iwemailsender.email.repository.RefreshTokenRepository;
 import com.example.iwemailsender.email.repository.RoleRepository;
 import com.example.iwemailsender.email.repository.UserRepository;
 import com.example.iwemailsender.email.service.UserService;
+import com.example.iwemailsender.security.event.UserChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -22,8 +26,13 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefreshTokenRepository refreshTokenRepository;
 
-    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder, UserMapper userMapper,
+                           ApplicationEventPublisher eventPublisher, RefreshTokenRepository refreshTokenRepository) {
+        this.eventPublisher = eventPublisher;
+        this.refreshTokenRepository = refreshTokenRepository;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
@@ -52,6 +61,7 @@ public class UserServiceImpl implements UserService {
             }
 
             User savedUser = userRepository.save(user);
+            publishChange(null, savedUser, false);
             return Optional.of(userMapper.toDto(savedUser));
         } catch (Exception e) {
             e.printStackTrace();
@@ -77,6 +87,7 @@ public class UserServiceImpl implements UserService {
 
 
    @Override
+    @Transactional
     public Optional<UserDto> update(UUID id, UserDto userRequest) {
 
         if (!userRepository.existsById(id)) {
@@ -84,10 +95,12 @@ public class UserServiceImpl implements UserService {
         }
 
         User existingUser = userRepository.findById(id).get();
+        Set<UUID> previousRoleIds = roleIds(existingUser.getRoles());
         User user = userMapper.toEntity(userRequest);
         user.setId(id);
 
-        if (user.getPassword() != null && !user.getPassword().trim().isEmpty()) {
+        boolean passwordChanged = user.getPassword() != null && !user.getPassword().trim().isEmpty();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         } else {
             user.setPassword(existingUser.getPassword());
@@ -118,6 +131,7 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setCreatedAt(existingUser.getCreatedAt());
+        user.setTokenVersion(existingUser.getTokenVersion() + 1);
         user.setUpdatedAt(LocalDateTime.now());
 
         if (user.getRoles() != null) {
@@ -128,13 +142,19 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        if (passwordChanged || !updatedUser.isEnabled() || !roleIds(updatedUser.getRoles()).containsAll(previousRoleIds)) {
+            revokeRefreshTokens(id);
+        }
+        publishChange(existingUser.getUsername(), updatedUser, false);
         return Optional.of(userMapper.toDto(updatedUser));
     }
 
 
     @Override
     public String deleteById(UUID id) {
+        Optional<User> existing = userRepository.findById(id);
         userRepository.deleteById(id);
+        existing.ifPresent(user -> publishChange(user.getUsername(), user, true));
         return "User with id " + id + " successfully deleted.";
     }
 
@@ -162,21 +182,48 @@ public class UserServiceImpl implements UserService {
 
             if (!user.getRoles().contains(role)) {
                 user.getRoles().add(role);
+                user.setTokenVersion(user.getTokenVersion() + 1);
                 userRepository.save(user);
+                publishChange(user.getUsername(), user, false);
             }
         }
     }
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public void removeRole(UUID userId, String roleName) {
         Optional<User> userOpt = userRepository.findById(userId);
         Optional<Role> roleOpt = roleRepository.findByName(roleName);
         if (userOpt.isPresent() && roleOpt.isPresent()) {
             User user = userOpt.get();
             Role role = roleOpt.get();
-            user.getRoles().remove(role);
-            userRepository.save(user);
+            if (user.getRoles().remove(role)) {
+                user.setTokenVersion(user.getTokenVersion() + 1);
+                userRepository.save(user);
+                revokeRefreshTokens(userId);
+                publishChange(user.getUsername(), user, false);
+            }
+        }
+    }
+
+    // a refresh token would otherwise keep minting current-version access tokens after the change
+    private void revokeRefreshTokens(UUID userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    private static Set<UUID> roleIds(List<Role> roles) {
+        if (roles == null) {
+            return Set.of();
+        }
+        return roles.stream().map(Role::getId).collect(Collectors.toSet());
+    }
+
+    // a rename also invalidates tokens issued under the old name
+    private void publishChange(String previousUsername, User user, boolean removed) {
+        if (previousUsername != null && !previousUsername.equals(user.getUsername())) {
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), previousUsername, user.getTokenVersion(), true));
         }
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), user.getTokenVersion(), removed));
     }
 }
@@ -0,0 +1,45 @@
+package com.example.iwemailsender.email.template;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+public class CompiledEmailTemplate {
+
+    /** Variables whose value differs per recipient; templates using them cannot share one message. */
+    public static final Set<String> RECIPIENT_VARIABLES = Set.of("recipient", "recipientName");
+
+    private final UUID templateId;
+    private final LocalDateTime version;
+    private final CompiledTemplate subject;
+    private final CompiledTemplate body;
+    private final boolean personalized;
+
+    public CompiledEmailTemplate(UUID templateId, LocalDateTime version, CompiledTemplate subject, CompiledTemplate body) {
+        this.templateId = templateId;
+        this.version = version;
+        this.subject = subject;
+        this.body = body;
+        this.personalized = RECIPIENT_VARIABLES.stream().anyMatch(name -> subject.uses(name) || body.uses(name));
+    }
+
+    public UUID getTemplateId() {
+        return templateId;
+    }
+
+    public LocalDateTime getVersion() {
+        return version;
+    }
+
+    public CompiledTemplate getSubject() {
+        return subject;
+    }
+
+    public CompiledTemplate getBody() {
+        return body;
+    }
+
+    public boolean isPersonalized() {
+        return personalized;
+    }
+}
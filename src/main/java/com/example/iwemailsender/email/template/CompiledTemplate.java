@@ -0,0 +1,104 @@
+package com.example.iwemailsender.email.template;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * A template split once into literal text and {@code {{variable}}} slots. Rendering only
+ * appends the literals and looked-up values, so it never scans the source text again.
+ * Unknown variables render as an empty string.
+ */
+public final class CompiledTemplate {
+
+    private static final Pattern VARIABLE_NAME = Pattern.compile("[A-Za-z][A-Za-z0-9_.]*");
+
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean escapeHtml;
+    private final int literalLength;
+
+    private CompiledTemplate(List<String> literals, List<String> variables, boolean escapeHtml) {
+        this.literals = literals.toArray(new String[0]);
+        this.variables = variables.toArray(new String[0]);
+        this.escapeHtml = escapeHtml;
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    public static CompiledTemplate compile(String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        String text = source != null ? source : "";
+
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < text.length()) {
+            int open = text.indexOf("{{", position);
+            int close = open < 0 ? -1 : text.indexOf("}}", open + 2);
+            if (open < 0 || close < 0) {
+                literal.append(text, position, text.length());
+                break;
+            }
+
+            String name = text.substring(open + 2, close).trim();
+            if (!VARIABLE_NAME.matcher(name).matches()) {
+                // not a placeholder, keep the braces as written
+                literal.append(text, position, open + 2);
+                position = open + 2;
+                continue;
+            }
+
+            literal.append(text, position, open);
+            literals.add(literal.toString());
+            variables.add(name);
+            literal.setLength(0);
+            position = close + 2;
+        }
+        literals.add(literal.toString());
+
+        return new CompiledTemplate(literals, variables, escapeHtml);
+    }
+
+    public String render(Map<String, String> values) {
+        return render(values::get);
+    }
+
+    public String render(Function<String, String> values) {
+        if (variables.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder out = new StringBuilder(literalLength + variables.length * 16);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = values.apply(variables[i]);
+            if (value != null) {
+                out.append(escapeHtml ? HtmlUtils.htmlEscape(value) : value);
+            }
+        }
+        out.append(literals[variables.length]);
+        return out.toString();
+    }
+
+    public Set<String> getVariables() {
+        Set<String> names = new LinkedHashSet<>();
+        Collections.addAll(names, variables);
+        return names;
+    }
+
+    public boolean uses(String variable) {
+        for (String name : variables) {
+            if (name.equals(variable)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.iwemailsender.email.template;
+
+import com.example.iwemailsender.email.domain.EmailTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled templates keyed by template id. An entry is only reused while the template's
+ * {@code updatedAt} matches, so an edit made on another node is picked up the first time
+ * the changed template is sent here; local edits evict the entry straight away.
+ */
+@Component
+public class TemplateRenderCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateRenderCache.class);
+
+    private final Map<UUID, CompiledEmailTemplate> compiled = new ConcurrentHashMap<>();
+
+    public CompiledEmailTemplate get(EmailTemplate template) {
+        if (template.getId() == null) {
+            return compile(template);
+        }
+
+        CompiledEmailTemplate cached = compiled.get(template.getId());
+        if (cached != null && Objects.equals(cached.getVersion(), template.getUpdatedAt())) {
+            return cached;
+        }
+
+        CompiledEmailTemplate fresh = compile(template);
+        compiled.put(template.getId(), fresh);
+        logger.debug("Compiled template {} (version {})", template.getId(), template.getUpdatedAt());
+        return fresh;
+    }
+
+    public void invalidate(UUID templateId) {
+        if (templateId != null) {
+            compiled.remove(templateId);
+        }
+    }
+
+    public int size() {
+        return compiled.size();
+    }
+
+    private CompiledEmailTemplate compile(EmailTemplate template) {
+        return new CompiledEmailTemplate(
+                template.getId(),
+                template.getUpdatedAt(),
+                CompiledTemplate.compile(template.getSubject(), false),
+                CompiledTemplate.compile(template.getBody(), true));
+    }
+}
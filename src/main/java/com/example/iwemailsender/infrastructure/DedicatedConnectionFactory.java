@@ -0,0 +1,51 @@
+package com.example.iwemailsender.infrastructure;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Opens physical connections straight from the JDBC driver, outside the Hikari pool, for
+ * sessions that are held for the life of the process (the scheduler leader lock, LISTEN).
+ * Keeping them out of the pool leaves every pooled connection to the senders, and closing
+ * one really ends the session, which is what releases its advisory locks and subscriptions.
+ * <p>
+ * Both ends probe the link with TCP keepalives every few seconds, so a crashed or partitioned
+ * peer is noticed within {@code dead-peer-seconds} instead of the kernel default of hours.
+ */
+@Component
+public class DedicatedConnectionFactory {
+
+    private final SimpleDriverDataSource dataSource;
+
+    public DedicatedConnectionFactory(DataSourceProperties dataSourceProperties, EmailSchedulerConfig emailSchedulerConfig) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        this.dataSource.setConnectionProperties(connectionProperties(emailSchedulerConfig.getDedicatedConnectionDeadPeerSeconds()));
+    }
+
+    public Connection open() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    static Properties connectionProperties(int deadPeerSeconds) {
+        int timeout = Math.max(6, deadPeerSeconds);
+        int probeInterval = Math.max(1, timeout / 6);
+
+        Properties properties = new Properties();
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("socketTimeout", String.valueOf(timeout));
+        properties.setProperty("connectTimeout", String.valueOf(Math.min(10, timeout)));
+        // server side: start probing after half the budget, give up after three unanswered probes
+        properties.setProperty("options", "-c tcp_keepalives_idle=" + timeout / 2
+                + " -c tcp_keepalives_interval=" + probeInterval
+                + " -c tcp_keepalives_count=3");
+        return properties;
+    }
+}
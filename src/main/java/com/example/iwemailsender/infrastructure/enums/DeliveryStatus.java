@@ -0,0 +1,8 @@
+package com.example.iwemailsender.infrastructure.enums;
+
+public enum DeliveryStatus {
+
+    PENDING,
+    SENT,
+    FAILED
+}
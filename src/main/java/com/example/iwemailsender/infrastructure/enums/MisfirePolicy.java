@@ -0,0 +1,5 @@
+package com.example.iwemailsender.infrastructure.enums;
+
+public enum MisfirePolicy {
+    FIRE_ONCE, FIRE_ALL, SKIP_TO_NEXT
+}
@@ -0,0 +1,5 @@
+package com.example.iwemailsender.infrastructure.enums;
+
+public enum PartitionRetentionAction {
+    DROP, DETACH
+}
@@ -1,5 +1,5 @@
 package com.example.iwemailsender.infrastructure.enums;
 
 public enum RecurrencePattern {
-    DAILY, WEEKLY, MONTHLY, YEARLY, ONE_TIME
+    DAILY, WEEKLY, MONTHLY, YEARLY, ONE_TIME, CRON
 }
@@ -0,0 +1,8 @@
+package com.example.iwemailsender.infrastructure.enums;
+
+public enum SendOutcome {
+
+    SENT,
+    RETRY_SCHEDULED,
+    SKIPPED_MISFIRE
+}
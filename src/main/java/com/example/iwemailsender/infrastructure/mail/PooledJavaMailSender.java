@@ -0,0 +1,189 @@
+package com.example.iwemailsender.infrastructure.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link JavaMailSenderImpl} that sends over pooled SMTP connections instead of opening,
+ * authenticating and closing a new one for every {@code send} call.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private final SmtpTransportPool pool;
+    private SendRateLimiter rateLimiter;
+
+    public PooledJavaMailSender(int maxSize, int maxMessagesPerConnection, long idleTimeoutMillis, long borrowTimeoutMillis) {
+        this.pool = new SmtpTransportPool(this::connectTransport, maxSize, maxMessagesPerConnection,
+                idleTimeoutMillis, borrowTimeoutMillis);
+    }
+
+    public void setRateLimiter(@Nullable SendRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Waits for the rate limiter to allow {@code recipients} more sends of {@code message}.
+     * Called before a connection is borrowed so throttled senders don't sit on pooled connections.
+     *
+     * @throws MailSendException if interrupted while waiting; the message must not be sent
+     */
+    public void throttle(MimeMessage message, int recipients) throws MessagingException {
+        if (rateLimiter != null) {
+            rateLimiter.acquire(accountKey(), message, recipients);
+        }
+    }
+
+    private long reserve(MimeMessage message) throws MessagingException {
+        if (rateLimiter == null) {
+            return 0;
+        }
+        return rateLimiter.reserve(accountKey(), SendRateLimiter.senderDomain(message), permits(message));
+    }
+
+    private void refund(MimeMessage message) throws MessagingException {
+        rateLimiter.refund(accountKey(), SendRateLimiter.senderDomain(message), permits(message));
+    }
+
+    private static int permits(MimeMessage message) throws MessagingException {
+        Address[] recipients = message.getAllRecipients();
+        return recipients != null ? recipients.length : 1;
+    }
+
+    private String accountKey() {
+        return getUsername() != null ? getUsername() : getHost();
+    }
+
+    /**
+     * Runs {@code callback} on a pooled connection. The connection goes back to the pool
+     * afterwards unless the callback failed and it no longer answers NOOP.
+     */
+    public <T> T execute(TransportCallback<T> callback) throws MessagingException {
+        SmtpTransportPool.PooledTransport transport = pool.borrow();
+        boolean broken = false;
+        try {
+            return callback.doWithTransport(transport);
+        } catch (MessagingException | RuntimeException e) {
+            broken = !transport.isConnected();
+            throw e;
+        } finally {
+            pool.release(transport, broken);
+        }
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        SmtpTransportPool.PooledTransport transport = null;
+
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                Object original = originalMessages != null ? originalMessages[i] : mimeMessages[i];
+
+                long waitNanos;
+                try {
+                    waitNanos = reserve(mimeMessages[i]);
+                } catch (MessagingException e) {
+                    failedMessages.put(original, e);
+                    continue;
+                }
+                if (waitNanos > 0) {
+                    // hand the connection back while throttled so other domains can use it
+                    if (transport != null) {
+                        pool.release(transport, false);
+                        transport = null;
+                    }
+                    try {
+                        rateLimiter.await(waitNanos);
+                    } catch (MailSendException e) {
+                        try {
+                            refund(mimeMessages[i]);
+                        } catch (MessagingException ignored) {
+                            // read fine a moment ago in reserve()
+                        }
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], e);
+                        }
+                        throw new MailSendException("Interrupted while waiting for a send permit", e, failedMessages);
+                    }
+                }
+
+                if (transport == null) {
+                    try {
+                        transport = pool.borrow();
+                    } catch (AuthenticationFailedException e) {
+                        throw new MailAuthenticationException(e);
+                    } catch (Exception e) {
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], e);
+                        }
+                        throw new MailSendException("Mail server connection failed", e, failedMessages);
+                    }
+                }
+
+                try {
+                    prepare(mimeMessages[i]);
+                    Address[] addresses = mimeMessages[i].getAllRecipients();
+                    transport.send(mimeMessages[i], addresses != null ? addresses : new Address[0]);
+                } catch (Exception e) {
+                    failedMessages.put(original, e);
+                    if (!transport.isConnected()) {
+                        pool.release(transport, true);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            if (transport != null) {
+                pool.release(transport, false);
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    // same header handling as JavaMailSenderImpl so pooled sends produce identical messages
+    public static void prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            mimeMessage.setHeader("Message-ID", messageId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.smtp.pool.eviction-interval-ms:30000}")
+    public void evictIdleConnections() {
+        pool.evictIdle();
+    }
+
+    public int getIdleConnectionCount() {
+        return pool.getIdleCount();
+    }
+
+    @Override
+    public void destroy() {
+        pool.close();
+    }
+
+    @FunctionalInterface
+    public interface TransportCallback<T> {
+        T doWithTransport(SmtpTransportPool.PooledTransport transport) throws MessagingException;
+    }
+}
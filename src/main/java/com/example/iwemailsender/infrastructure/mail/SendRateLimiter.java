@@ -0,0 +1,211 @@
+package com.example.iwemailsender.infrastructure.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailSendException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets in front of the SMTP server, one per sending account and one per sender
+ * domain. A send takes one permit per recipient from both; when either bucket is empty the
+ * caller waits until its share has refilled instead of failing, so a burst from the scheduler
+ * is spread out at the configured rate rather than tripping 421/454 throttling replies.
+ * <p>
+ * Permits are reserved up front and may drive a bucket negative, so concurrent callers are
+ * served in reservation order and a batch larger than the burst size just waits longer.
+ */
+public class SendRateLimiter {
+
+    private final BucketSpec accountSpec;
+    private final BucketSpec domainSpec;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, TokenBucket> accountBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> domainBuckets = new ConcurrentHashMap<>();
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public SendRateLimiter(int accountPermitsPerMinute, int accountBurst, int domainPermitsPerMinute, int domainBurst) {
+        this(accountPermitsPerMinute, accountBurst, domainPermitsPerMinute, domainBurst, System::nanoTime);
+    }
+
+    // the clock only drives bucket refills; waiting still parks for real time
+    SendRateLimiter(int accountPermitsPerMinute, int accountBurst, int domainPermitsPerMinute, int domainBurst,
+                    LongSupplier nanoClock) {
+        this.accountSpec = new BucketSpec(accountPermitsPerMinute, accountBurst);
+        this.domainSpec = new BucketSpec(domainPermitsPerMinute, domainBurst);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Blocks until {@code permits} sends are allowed for both the account and the sender's domain.
+     *
+     * @throws MailSendException if the thread is interrupted before the permits are due; the
+     *                           interrupt stays set and the caller must not send
+     */
+    public void acquire(String account, String senderDomain, int permits) {
+        long waitNanos = reserve(account, senderDomain, permits);
+        try {
+            await(waitNanos);
+        } catch (MailSendException e) {
+            refund(account, senderDomain, permits);
+            throw e;
+        }
+    }
+
+    public void acquire(String account, MimeMessage message, int permits) throws MessagingException {
+        acquire(account, senderDomain(message), permits);
+    }
+
+    /**
+     * Takes {@code permits} from both buckets without waiting and returns how many nanoseconds
+     * the caller has to {@link #await(long)} before it may send.
+     */
+    public long reserve(String account, String senderDomain, int permits) {
+        if (permits <= 0) {
+            return 0;
+        }
+
+        long waitNanos = 0;
+        if (accountSpec.enabled()) {
+            waitNanos = bucket(accountBuckets, account, accountSpec).reserve(permits);
+        }
+        if (domainSpec.enabled()) {
+            waitNanos = Math.max(waitNanos, bucket(domainBuckets, senderDomain, domainSpec).reserve(permits));
+        }
+
+        acquired.add(permits);
+        if (waitNanos > 0) {
+            throttled.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Gives back permits taken by {@link #reserve} that were never used, e.g. because the caller
+     * was interrupted in {@link #await(long)}. Callers reserving after them still wait their turn.
+     */
+    public void refund(String account, String senderDomain, int permits) {
+        if (permits <= 0) {
+            return;
+        }
+        if (accountSpec.enabled()) {
+            bucket(accountBuckets, account, accountSpec).refund(permits);
+        }
+        if (domainSpec.enabled()) {
+            bucket(domainBuckets, senderDomain, domainSpec).refund(permits);
+        }
+        acquired.add(-permits);
+    }
+
+    public void await(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining = nanos;
+        while (remaining > 0) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new MailSendException("Interrupted while waiting for a send permit");
+            }
+            LockSupport.parkNanos(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    public static String senderDomain(MimeMessage message) throws MessagingException {
+        Address[] from = message.getFrom();
+        if (from == null || from.length == 0 || !(from[0] instanceof InternetAddress address) || address.getAddress() == null) {
+            return "";
+        }
+        String email = address.getAddress();
+        return email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /** Permits handed out since startup, throttled or not. */
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    /** Number of acquisitions that had to wait. */
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum());
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    public int getBucketCount() {
+        return accountBuckets.size() + domainBuckets.size();
+    }
+
+    private TokenBucket bucket(Map<String, TokenBucket> buckets, String key, BucketSpec spec) {
+        return buckets.computeIfAbsent(key == null ? "" : key, k -> new TokenBucket(spec, nanoClock));
+    }
+
+    private record BucketSpec(int permitsPerMinute, int burst) {
+
+        boolean enabled() {
+            return permitsPerMinute > 0;
+        }
+
+        double permitsPerNano() {
+            return permitsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double permitsPerNano;
+        private final LongSupplier nanoClock;
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(BucketSpec spec, LongSupplier nanoClock) {
+            this.capacity = Math.max(1, spec.burst());
+            this.permitsPerNano = spec.permitsPerNano();
+            this.nanoClock = nanoClock;
+            this.tokens = capacity;
+            this.lastRefillNanos = nanoClock.getAsLong();
+        }
+
+        /**
+         * Takes {@code permits} and returns how long the caller has to wait before using them.
+         */
+        synchronized long reserve(int permits) {
+            refill();
+            tokens -= permits;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+        }
+
+        synchronized void refund(int permits) {
+            refill();
+            tokens = Math.min(capacity, tokens + permits);
+        }
+
+        private void refill() {
+            long now = nanoClock.getAsLong();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
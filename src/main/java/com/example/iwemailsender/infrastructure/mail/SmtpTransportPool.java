@@ -0,0 +1,185 @@
+package com.example.iwemailsender.infrastructure.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded pool of connected, authenticated SMTP transports. Connections are handed out
+ * LIFO so the warmest one is reused first, checked with NOOP when they have been idle for
+ * a while, and closed once they reach the per-connection message limit or the idle timeout.
+ */
+public class SmtpTransportPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    // connections used within this window are trusted without a NOOP round trip
+    private static final long VALIDATE_AFTER_IDLE_MILLIS = 5_000;
+
+    private final TransportFactory transportFactory;
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final LongSupplier clock;
+
+    private final Semaphore permits;
+    private final Deque<PooledTransport> idle = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    public SmtpTransportPool(TransportFactory transportFactory, int maxSize, int maxMessagesPerConnection,
+                             long idleTimeoutMillis, long borrowTimeoutMillis) {
+        this(transportFactory, maxSize, maxMessagesPerConnection, idleTimeoutMillis, borrowTimeoutMillis,
+                System::currentTimeMillis);
+    }
+
+    SmtpTransportPool(TransportFactory transportFactory, int maxSize, int maxMessagesPerConnection,
+                      long idleTimeoutMillis, long borrowTimeoutMillis, LongSupplier clock) {
+        this.transportFactory = transportFactory;
+        this.clock = clock;
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.permits = new Semaphore(Math.max(1, maxSize), true);
+    }
+
+    public PooledTransport borrow() throws MessagingException {
+        if (closed) {
+            throw new MessagingException("SMTP transport pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out after " + borrowTimeoutMillis + " ms waiting for an SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+
+        try {
+            PooledTransport transport;
+            while ((transport = pollIdle()) != null) {
+                if (isReusable(transport)) {
+                    return transport;
+                }
+                transport.close();
+            }
+            logger.debug("Opening new SMTP connection");
+            return new PooledTransport(transportFactory.connect(), clock.getAsLong());
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(PooledTransport transport, boolean broken) {
+        try {
+            if (broken || closed || transport.messagesSent >= maxMessagesPerConnection) {
+                transport.close();
+                return;
+            }
+            transport.lastUsedAt = clock.getAsLong();
+            synchronized (idle) {
+                idle.push(transport);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        synchronized (idle) {
+            Iterator<PooledTransport> iterator = idle.iterator();
+            while (iterator.hasNext()) {
+                PooledTransport transport = iterator.next();
+                if (now - transport.lastUsedAt >= idleTimeoutMillis) {
+                    iterator.remove();
+                    transport.close();
+                }
+            }
+        }
+    }
+
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    public void close() {
+        closed = true;
+        synchronized (idle) {
+            idle.forEach(PooledTransport::close);
+            idle.clear();
+        }
+    }
+
+    private PooledTransport pollIdle() {
+        synchronized (idle) {
+            return idle.poll();
+        }
+    }
+
+    private boolean isReusable(PooledTransport transport) {
+        long idleFor = clock.getAsLong() - transport.lastUsedAt;
+        if (idleFor >= idleTimeoutMillis) {
+            return false;
+        }
+        // Transport.isConnected() issues a NOOP on SMTP connections
+        return idleFor < VALIDATE_AFTER_IDLE_MILLIS || transport.transport.isConnected();
+    }
+
+    @FunctionalInterface
+    public interface TransportFactory {
+        Transport connect() throws MessagingException;
+    }
+
+    public static final class PooledTransport {
+
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedAt;
+
+        private PooledTransport(Transport transport, long connectedAt) {
+            this.transport = transport;
+            this.lastUsedAt = connectedAt;
+        }
+
+        public void send(MimeMessage message, Address[] recipients) throws MessagingException {
+            messagesSent++;
+            transport.sendMessage(message, recipients);
+        }
+
+        public Transport getTransport() {
+            return transport;
+        }
+
+        public String getLastServerResponse() {
+            return transport instanceof SMTPTransport smtpTransport ? smtpTransport.getLastServerResponse() : null;
+        }
+
+        public boolean isConnected() {
+            return transport.isConnected();
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("Error while closing SMTP connection: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.iwemailsender.security.event;
+
+import java.util.UUID;
+
+/**
+ * Published after a role is renamed or deleted, which changes the authorities of every user holding it.
+ */
+public class RoleChangedEvent {
+
+    private final UUID roleId;
+    private final String name;
+
+    public RoleChangedEvent(UUID roleId, String name) {
+        this.roleId = roleId;
+        this.name = name;
+    }
+
+    public UUID getRoleId() {
+        return roleId;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.iwemailsender.security.event;
+
+import java.util.UUID;
+
+/**
+ * Published after a user's credentials, roles or enabled flag change, or the user is deleted.
+ * Anything holding state derived from the user (issued tokens, cached details) should drop it.
+ */
+public class UserChangedEvent {
+
+    private final UUID userId;
+    private final String username;
+    private final int tokenVersion;
+    private final boolean removed;
+
+    public UserChangedEvent(UUID userId, String username, int tokenVersion, boolean removed) {
+        this.userId = userId;
+        this.username = username;
+        this.tokenVersion = tokenVersion;
+        this.removed = removed;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+}
@@ -1,20 +1,31 @@
 package com.example.iwemailsender.security.jwt;
 
 import com.example.iwemailsender.security.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,10 +34,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
+    private final Timer anonymousTimer;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
+    @Value("${jwt.stateless.max-token-age-ms:900000}")
+    private long maxTokenAgeMillis;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+                                   TokenVersionRegistry tokenVersionRegistry, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.authenticatedTimer = filterTimer(meterRegistry, "authenticated");
+        this.rejectedTimer = filterTimer(meterRegistry, "rejected");
+        this.anonymousTimer = filterTimer(meterRegistry, "anonymous");
+    }
+
+    private static Timer filterTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.jwt.filter")
+                .description("Time spent authenticating a request from its bearer token, excluding the rest of the chain")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Override
@@ -43,62 +76,103 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        long start = System.nanoTime();
+        Timer timer = anonymousTimer;
         try {
-
             String authHeader = request.getHeader("Authorization");
-            log.debug("Authorization header: {}", authHeader != null ? "Present (Bearer ...)" : "Missing");
+            String jwt = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
 
-            String jwt = null;
-            String username = null;
-
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                jwt = authHeader.substring(7);
-                log.debug("JWT token extracted: {}...", jwt.substring(0, Math.min(jwt.length(), 20)));
-
-                try {
-                    username = jwtUtil.extractUsername(jwt);
-                    log.debug("Username extracted from JWT: {}", username);
-                } catch (Exception e) {
-                    log.error("Failed to extract username from JWT: {}", e.getMessage());
+            if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (statelessEnabled) {
+                    authenticateFromClaims(jwt, request);
+                } else {
+                    authenticateFromUser(jwt, request);
                 }
-            } else {
-                log.debug("No Bearer token found in Authorization header");
+                timer = SecurityContextHolder.getContext().getAuthentication() != null ? authenticatedTimer : rejectedTimer;
             }
+        } catch (Exception e) {
+            timer = rejectedTimer;
+            log.error("JWT Filter error: {}", e.getMessage(), e);
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                log.debug("Loading user details for: {}", username);
-
-                try {
-                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                    log.debug("User details loaded: {} with authorities: {}",
-                            userDetails.getUsername(), userDetails.getAuthorities());
+        filterChain.doFilter(request, response);
+    }
 
-                    if (jwtUtil.isTokenValid(jwt, userDetails)) {
-                        log.debug("JWT token is valid for user: {}", username);
+    private void authenticateFromUser(String jwt, HttpServletRequest request) {
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return;
+        }
 
-                        // Create authentication token
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails, null, userDetails.getAuthorities());
+        String username = claims.getSubject();
+        if (username == null) {
+            return;
+        }
 
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        try {
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        log.debug("SecurityContext updated with authentication for: {}", username);
+            if (jwtUtil.isTokenValid(claims, userDetails)) {
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails, null, userDetails.getAuthorities());
 
-                    } else {
-                        log.warn("JWT token validation failed for user: {}", username);
-                    }
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                } catch (Exception e) {
-                    log.error("Error during JWT authentication: {}", e.getMessage());
-                }
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            } else {
+                log.warn("JWT token validation failed for user: {}", username);
             }
-
         } catch (Exception e) {
-            log.error("JWT Filter error: {}", e.getMessage(), e);
+            log.error("Error during JWT authentication: {}", e.getMessage());
         }
+    }
 
-        filterChain.doFilter(request, response);
+    /**
+     * Stateless mode: trusts the subject and roles of a verified token instead of loading the
+     * user. Tokens older than {@code jwt.stateless.max-token-age-ms}, or whose {@code ver} claim
+     * predates a change to the user, are ignored and the request stays unauthenticated.
+     */
+    private void authenticateFromClaims(String jwt, HttpServletRequest request) {
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return;
+        }
+
+        String username = claims.getSubject();
+        Date issuedAt = claims.getIssuedAt();
+        if (username == null || issuedAt == null
+                || System.currentTimeMillis() - issuedAt.getTime() > maxTokenAgeMillis) {
+            log.debug("JWT for {} is past the stateless max token age", username);
+            return;
+        }
+
+        Integer version = claims.get(JwtUtil.VERSION_CLAIM, Integer.class);
+        if (!tokenVersionRegistry.isCurrent(username, version != null ? version : 0)) {
+            log.debug("JWT for {} was issued before the user last changed", username);
+            return;
+        }
+
+        List<?> roles = claims.get(JwtUtil.ROLES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
+
+        UserDetails principal = User.withUsername(username)
+                .password("")
+                .authorities(authorities)
+                .build();
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
     }
 }
\ No newline at end of file
@@ -3,14 +3,15 @@ package com.example.iwemailsender.security.jwt;
 import com.example.iwemailsender.email.domain.User;
 import com.example.iwemailsender.email.repository.UserRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
@@ -20,40 +21,48 @@ import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies access tokens. The signing key and parser are built once and shared;
+ * callers verify a token with {@link #extractAllClaims(String)} and read everything they need
+ * from the returned {@link Claims} instead of re-parsing for each field.
+ */
 @Service
 public class JwtUtil {
 
     private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
 
     private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
-    private static final long JWT_EXPIRATION = 86400000;
+
+    public static final String ROLES_CLAIM = "roles";
+    public static final String VERSION_CLAIM = "ver";
 
     private final UserRepository userRepository;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationMillis;
 
-    public JwtUtil(UserRepository userRepository) {
+    public JwtUtil(UserRepository userRepository, @Value("${jwt.expiration:900000}") long expirationMillis) {
         this.userRepository = userRepository;
-    }
-
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = SECRET_KEY.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.expirationMillis = expirationMillis;
+        this.signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateToken(UserDetails userDetails) {
         log.debug("Generating JWT token for user: {}", userDetails.getUsername());
 
         Map<String, Object> claims = new HashMap<>();
-        claims.put("roles", userDetails.getAuthorities().stream()
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
 
-        log.debug("Adding roles to JWT: {}", claims.get("roles"));
-
-        String token = createToken(claims, userDetails.getUsername());
-        log.debug("JWT token generated successfully for: {}", userDetails.getUsername());
+        if (userDetails instanceof User user) {
+            claims.put(VERSION_CLAIM, user.getTokenVersion());
+        }
 
-        return token;
+        return createToken(claims, userDetails.getUsername());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -61,76 +70,51 @@ public class JwtUtil {
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
 
     public String extractUsername(String token) {
-        log.debug("Extracting username from JWT");
-        String username = extractClaim(token, Claims::getSubject);
-        log.debug("Extracted username: {}", username);
-        return username;
+        return extractAllClaims(token).getSubject();
     }
 
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return extractAllClaims(token).getExpiration();
     }
 
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(extractAllClaims(token));
     }
 
 
-    private Claims extractAllClaims(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            log.debug("JWT claims extracted: sub={}, roles={}, exp={}",
-                    claims.getSubject(),
-                    claims.get("roles"),
-                    claims.getExpiration());
-
-            return claims;
-        } catch (Exception e) {
-            log.error("Failed to parse JWT claims: {}", e.getMessage());
-            throw e;
-        }
+    /**
+     * Verifies the signature and expiry and returns the claims; throws a {@code JwtException} otherwise.
+     */
+    public Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
 
-    private Boolean isTokenExpired(String token) {
-        Date expiration = extractExpiration(token);
-        boolean expired = expiration.before(new Date());
-        log.debug("Token expired: {}, expiration: {}", expired, expiration);
-        return expired;
+    /**
+     * Checks already verified claims against the loaded user. Expiry was enforced by the parser,
+     * the check here only covers a token that expired between parsing and this call.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        Date expiration = claims.getExpiration();
+        return userDetails.getUsername().equals(claims.getSubject())
+                && (expiration == null || expiration.after(new Date()));
     }
 
 
     public Boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            boolean usernameMatches = username.equals(userDetails.getUsername());
-            boolean tokenNotExpired = !isTokenExpired(token);
-
-            log.debug("JWT validation - Username matches: {}, Token not expired: {}",
-                    usernameMatches, tokenNotExpired);
-
-            boolean isValid = usernameMatches && tokenNotExpired;
-            log.debug("JWT token validation result: {}", isValid);
-
-            return isValid;
-
+            return isTokenValid(extractAllClaims(token), userDetails);
         } catch (Exception e) {
-            log.error("JWT token validation failed: {}", e.getMessage());
+            log.debug("JWT token validation failed: {}", e.getMessage());
             return false;
         }
     }
@@ -0,0 +1,50 @@
+package com.example.iwemailsender.security.jwt;
+
+import com.example.iwemailsender.email.domain.User;
+import com.example.iwemailsender.security.event.UserChangedEvent;
+import com.example.iwemailsender.security.service.UserCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a token's {@code ver} claim is still current. The stored
+ * {@code token_version} is read through {@link UserCache}, so a change made on another node,
+ * or before a restart, is honoured once the cached user expires
+ * ({@code app.security.user-cache.ttl-seconds}). {@link UserChangedEvent}s raised on this node
+ * take effect immediately, without waiting for the database read.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    private final UserCache userCache;
+    private final Map<String, Integer> minimumVersions = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getUsername() == null) {
+            return;
+        }
+        int minimum = event.isRemoved() ? REVOKED : event.getTokenVersion();
+        // versions only grow for a live user; a re-created username starts over
+        minimumVersions.put(event.getUsername(), minimum);
+    }
+
+    public boolean isCurrent(String username, int tokenVersion) {
+        if (tokenVersion < minimumVersions.getOrDefault(username, 0)) {
+            return false;
+        }
+        return userCache.findByUsername(username)
+                .filter(User::isEnabled)
+                .map(user -> tokenVersion >= user.getTokenVersion())
+                .orElse(false);
+    }
+}
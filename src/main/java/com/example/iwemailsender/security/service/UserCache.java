@@ -0,0 +1,71 @@
+package com.example.iwemailsender.security.service;
+
+import com.example.iwemailsender.email.domain.User;
+import com.example.iwemailsender.email.repository.UserRepository;
+import com.example.iwemailsender.security.event.RoleChangedEvent;
+import com.example.iwemailsender.security.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded, expiring cache of users by username, shared by authentication and by controllers
+ * that only need the caller's id. Entries are dropped when {@link UserChangedEvent} or
+ * {@link RoleChangedEvent} is published on this node; other nodes rely on the TTL.
+ * Lookups of unknown usernames are not cached.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> users;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${app.security.user-cache.max-size:1000}") long maxSize,
+                     @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(users.get(username, name -> userRepository.findByUsername(name).orElse(null)));
+    }
+
+    public Optional<UUID> findUserId(String username) {
+        return findByUsername(username).map(User::getId);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getUsername() != null) {
+            users.invalidate(event.getUsername());
+        }
+    }
+
+    @EventListener
+    public void onRoleChanged(RoleChangedEvent event) {
+        users.invalidateAll();
+    }
+
+    public Cache<String, User> getCache() {
+        return users;
+    }
+
+    public CacheStats getStats() {
+        return users.stats();
+    }
+}
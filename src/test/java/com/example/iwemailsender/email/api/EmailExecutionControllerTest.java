@@ -0,0 +1,31 @@
+package com.example.iwemailsender.email.api;
+
+import com.example.iwemailsender.email.service.EmailExecutionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailExecutionControllerTest {
+
+    private final EmailExecutionService emailExecutionService = mock(EmailExecutionService.class);
+    private final EmailExecutionController controller = new EmailExecutionController(emailExecutionService);
+
+    @Test
+    void invalidCursorIsABadRequest() {
+        when(emailExecutionService.findPage(any(), eq("garbage"), anyInt())).thenReturn(Optional.empty());
+
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.getAllExecutions(null, null, null, null, "garbage", 50).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.getExecutionsByJobId(UUID.randomUUID(), null, null, null, "garbage", 50).getStatusCode());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.iwemailsender.email.scheduler;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import com.example.iwemailsender.email.dto.EmailJobDto;
+import com.example.iwemailsender.email.service.EmailJobService;
+import com.example.iwemailsender.email.service.EmailSendingService;
+import com.example.iwemailsender.infrastructure.enums.SendOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailJobDispatcherTest {
+
+    private final EmailSendingService emailSendingService = mock(EmailSendingService.class);
+    private final EmailJobService emailJobService = mock(EmailJobService.class);
+    private EmailJobDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        EmailSchedulerConfig config = new EmailSchedulerConfig();
+        config.setDispatchMaxConcurrency(4);
+        config.setClaimLeaseSeconds(300);
+        config.setNodeId("node-a");
+        dispatcher = new EmailJobDispatcher(emailSendingService, emailJobService, config, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void staleCopyOfAJobIsNotSent() throws Exception {
+        EmailJobDto stale = job();
+        when(emailJobService.startJob(eq(stale), eq("node-a"), anyInt())).thenReturn(false);
+
+        DispatchTick tick = dispatcher.dispatch(List.of(stale));
+        tick.getCompletion().get(5, TimeUnit.SECONDS);
+
+        verify(emailSendingService, never()).sendEmailWithTemplate(any(), any(), any(), any());
+        assertEquals(1, tick.getSuperseded());
+        assertEquals(0, tick.getPending());
+        assertEquals(0, dispatcher.getInFlightCount());
+    }
+
+    @Test
+    void currentJobIsSent() throws Exception {
+        EmailJobDto current = job();
+        when(emailJobService.startJob(eq(current), eq("node-a"), anyInt())).thenReturn(true);
+        when(emailSendingService.sendEmailWithTemplate(eq(current), any(), any(), any())).thenReturn(SendOutcome.SENT);
+
+        DispatchTick tick = dispatcher.dispatch(List.of(current));
+        tick.getCompletion().get(5, TimeUnit.SECONDS);
+
+        verify(emailSendingService, times(1)).sendEmailWithTemplate(eq(current), any(), any(), any());
+        assertEquals(1, tick.getSucceeded());
+    }
+
+    private static EmailJobDto job() {
+        EmailJobDto job = new EmailJobDto();
+        job.setId(UUID.randomUUID());
+        job.setNextRunTime(LocalDateTime.now().minusMinutes(1));
+        return job;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.iwemailsender.email.scheduler;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ExecutionPartitionMaintenanceTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 3);
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 3, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 4, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SchedulerLeaderElection leaderElection = mock(SchedulerLeaderElection.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private ExecutionPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        EmailSchedulerConfig config = new EmailSchedulerConfig();
+        config.setExecutionPartitionMonthsAhead(0);
+        maintenance = new ExecutionPartitionMaintenance(jdbcTemplate, config, leaderElection, transactionTemplate);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), any()))
+                .thenReturn(List.of("email_executions_default"));
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT"), eq(String.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void emptyMonthIsCreatedDirectly() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class), any(), any())).thenReturn(false);
+
+        maintenance.createPartitionsAhead(MONTH);
+
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE email_executions_2026_03 PARTITION OF"));
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION"));
+    }
+
+    @Test
+    void rowsInTheDefaultPartitionAreMovedBeforeTheMonthIsCreated() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class), any(), any())).thenReturn(true);
+
+        maintenance.createPartitionsAhead(MONTH);
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("ALTER TABLE email_executions DETACH PARTITION email_executions_default");
+        order.verify(jdbcTemplate).execute(startsWith("CREATE TABLE email_executions_2026_03 PARTITION OF"));
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO email_executions_2026_03"), eq(FROM), eq(TO));
+        order.verify(jdbcTemplate).update(startsWith("DELETE FROM email_executions_default"), eq(FROM), eq(TO));
+        order.verify(jdbcTemplate).execute("ALTER TABLE email_executions ATTACH PARTITION email_executions_default DEFAULT");
+    }
+
+    @Test
+    void strandedPastMonthGetsItsOwnPartition() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT"), eq(String.class))).thenReturn(List.of("2025_11"));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class), any(), any())).thenReturn(true);
+
+        maintenance.createPartitionsAhead(MONTH);
+
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE email_executions_2025_11 PARTITION OF"));
+    }
+
+    @Test
+    void existingPartitionIsLeftAlone() {
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), any()))
+                .thenReturn(List.of("email_executions_default", "email_executions_2026_03"));
+
+        maintenance.createPartitionsAhead(MONTH);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void followersDoNotRunDdl() {
+        when(leaderElection.isLeader()).thenReturn(false);
+
+        maintenance.maintain();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.iwemailsender.email.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobTimelineTest {
+
+    private final JobTimeline timeline = new JobTimeline();
+
+    @Test
+    void repeatedResyncDoesNotGrowTheQueue() {
+        Map<UUID, LocalDateTime> runTimes = new HashMap<>();
+        LocalDateTime later = LocalDateTime.now().plusWeeks(3).truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 100; i++) {
+            runTimes.put(UUID.randomUUID(), later.plusMinutes(i));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            timeline.replaceAll(runTimes);
+        }
+
+        assertEquals(100, timeline.size());
+        assertEquals(100, timeline.queuedCount());
+    }
+
+    @Test
+    void rescheduleReplacesTheQueuedEntry() {
+        UUID jobId = UUID.randomUUID();
+        LocalDateTime first = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime second = first.minusDays(10);
+
+        timeline.schedule(jobId, first);
+        timeline.schedule(jobId, second);
+
+        assertEquals(1, timeline.queuedCount());
+        assertEquals(Optional.of(second), timeline.nextDueTime());
+    }
+
+    @Test
+    void removeAndResyncDropQueuedEntries() {
+        UUID kept = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        UUID dropped = UUID.randomUUID();
+        LocalDateTime later = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MILLIS);
+
+        timeline.schedule(kept, later);
+        timeline.schedule(removed, later.minusHours(1));
+        timeline.schedule(dropped, later.minusHours(2));
+        timeline.remove(removed);
+        timeline.replaceAll(Map.of(kept, later));
+
+        assertEquals(1, timeline.size());
+        assertEquals(1, timeline.queuedCount());
+        assertEquals(Optional.of(later), timeline.nextDueTime());
+    }
+
+    @Test
+    void dueJobIsReturnedOnce() throws InterruptedException {
+        UUID jobId = UUID.randomUUID();
+        timeline.schedule(jobId, LocalDateTime.now().minusSeconds(1));
+        timeline.schedule(jobId, LocalDateTime.now().minusSeconds(1));
+
+        List<UUID> due = timeline.awaitDue(100);
+
+        assertEquals(List.of(jobId), due);
+        assertTrue(timeline.awaitDue(10).isEmpty());
+        assertEquals(0, timeline.size());
+    }
+}
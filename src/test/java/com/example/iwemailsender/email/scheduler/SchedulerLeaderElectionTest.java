@@ -0,0 +1,72 @@
+package com.example.iwemailsender.email.scheduler;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import com.example.iwemailsender.infrastructure.DedicatedConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SchedulerLeaderElectionTest {
+
+    private static final long HEARTBEAT_MS = 20;
+
+    private final DedicatedConnectionFactory connectionFactory = mock(DedicatedConnectionFactory.class);
+    private final Connection connection = mock(Connection.class);
+    private SchedulerLeaderElection election;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        EmailSchedulerConfig config = new EmailSchedulerConfig();
+        config.setLeaderElectionEnabled(true);
+        config.setLeaderElectionLockKey(42);
+        config.setLeaderElectionHeartbeatMs(HEARTBEAT_MS);
+        config.setNodeId("node-a");
+        election = new SchedulerLeaderElection(connectionFactory, config, mock(ApplicationEventPublisher.class));
+
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connectionFactory.open()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        when(connection.isValid(anyInt())).thenReturn(true);
+    }
+
+    @Test
+    void leadershipLapsesWhenHeartbeatsStop() throws Exception {
+        election.heartbeat();
+        assertTrue(election.isLeader());
+
+        Thread.sleep(HEARTBEAT_MS * (SchedulerLeaderElection.MISSED_HEARTBEATS + 2));
+        assertFalse(election.isLeader());
+
+        election.heartbeat();
+        assertTrue(election.isLeader());
+    }
+
+    @Test
+    void deadLockConnectionStepsDownAndIsClosed() throws Exception {
+        election.heartbeat();
+        when(connection.isValid(anyInt())).thenReturn(false);
+        when(connectionFactory.open()).thenThrow(new SQLException("database unreachable"));
+
+        election.heartbeat();
+
+        assertFalse(election.isLeader());
+        verify(connection).close();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.iwemailsender.email.service;
+
+import com.example.iwemailsender.email.domain.EmailJob;
+import com.example.iwemailsender.email.domain.EmailTemplate;
+import com.example.iwemailsender.email.domain.User;
+import com.example.iwemailsender.email.dto.EmailJobDto;
+import com.example.iwemailsender.email.repository.EmailJobRepository;
+import com.example.iwemailsender.email.repository.EmailTemplateRepository;
+import com.example.iwemailsender.email.repository.UserRepository;
+import com.example.iwemailsender.infrastructure.enums.RecurrencePattern;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// background threads (timeline, leader heartbeat, LISTEN, log writer) share the session factory,
+// so statements are only counted on the test thread while the query under test runs
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.iwemailsender.email.service.DueJobQueryCountTest$ThreadStatementCounter")
+@Transactional
+class DueJobQueryCountTest {
+
+    private static final int JOB_COUNT = 10;
+
+    @Autowired
+    private EmailJobService emailJobService;
+    @Autowired
+    private EmailJobRepository emailJobRepository;
+    @Autowired
+    private EmailTemplateRepository emailTemplateRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void dueJobsAreLoadedWithASingleQuery() {
+        User user = userRepository.save(new User("query-count-" + UUID.randomUUID(), "secret", true));
+        LocalDateTime due = LocalDateTime.now().minusMinutes(5);
+
+        for (int i = 0; i < JOB_COUNT; i++) {
+            // a template per job, so a lazy load per job would show up as extra statements
+            EmailTemplate template = emailTemplateRepository.save(
+                    new EmailTemplate("query-count-" + UUID.randomUUID(), "Subject " + i, "Body " + i));
+            EmailJob job = new EmailJob(due.minusDays(1), null, RecurrencePattern.DAILY, "sender@example.com",
+                    "receiver@example.com", true, false, due, LocalTime.NOON);
+            job.setEmailTemplate(template);
+            job.setCreatedBy(user);
+            emailJobRepository.save(job);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<EmailJobDto> jobs;
+        List<String> statements = ThreadStatementCounter.start();
+        try {
+            jobs = emailJobService.findJobsToExecute(LocalDateTime.now(), null, 500);
+        } finally {
+            ThreadStatementCounter.stop();
+        }
+
+        assertTrue(jobs.size() >= JOB_COUNT);
+        jobs.forEach(job -> {
+            assertNotNull(job.getEmailTemplate());
+            assertNotNull(job.getEmailTemplate().getBody());
+        });
+        assertEquals(1, statements.size(), () -> "Statements issued: " + statements);
+    }
+
+    public static class ThreadStatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        static List<String> start() {
+            List<String> statements = new ArrayList<>();
+            STATEMENTS.set(statements);
+            return statements;
+        }
+
+        static void stop() {
+            STATEMENTS.remove();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
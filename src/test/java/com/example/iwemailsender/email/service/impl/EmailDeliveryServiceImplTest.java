@@ -0,0 +1,88 @@
+package com.example.iwemailsender.email.service.impl;
+
+import com.example.iwemailsender.email.domain.EmailDelivery;
+import com.example.iwemailsender.email.dto.RecipientResultDto;
+import com.example.iwemailsender.email.mapper.EmailDeliveryMapperImpl;
+import com.example.iwemailsender.email.repository.EmailDeliveryRepository;
+import com.example.iwemailsender.infrastructure.enums.DeliveryStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailDeliveryServiceImplTest {
+
+    private final EmailDeliveryRepository emailDeliveryRepository = mock(EmailDeliveryRepository.class);
+    private final UUID executionId = UUID.randomUUID();
+    private EmailDeliveryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EmailDeliveryServiceImpl(emailDeliveryRepository, new EmailDeliveryMapperImpl());
+    }
+
+    @Test
+    void firstAttemptSendsToEveryone() {
+        when(emailDeliveryRepository.findByEmailExecutionIdOrderByRecipientAsc(executionId)).thenReturn(List.of());
+
+        assertEquals(List.of("a@example.com", "b@example.com"),
+                service.pendingRecipients(executionId, List.of("a@example.com", "b@example.com")));
+    }
+
+    @Test
+    void retryOnlySendsToCurrentRecipientsNotYetReached() {
+        when(emailDeliveryRepository.findByEmailExecutionIdOrderByRecipientAsc(executionId)).thenReturn(List.of(
+                delivery("sent@example.com", DeliveryStatus.SENT),
+                delivery("failed@example.com", DeliveryStatus.FAILED),
+                delivery("removed@example.com", DeliveryStatus.PENDING)));
+
+        List<String> pending = service.pendingRecipients(executionId,
+                List.of("sent@example.com", "failed@example.com", "added@example.com"));
+
+        assertEquals(List.of("failed@example.com", "added@example.com"), pending);
+        assertEquals(List.of("removed@example.com"), recipientsOf(captureDeleted()));
+        assertEquals(List.of("added@example.com"), recipientsOf(captureSaved()));
+    }
+
+    @Test
+    void resultsUpdateTheirOwnRows() {
+        EmailDelivery row = delivery("a@example.com", DeliveryStatus.PENDING);
+        when(emailDeliveryRepository.findByEmailExecutionIdAndRecipientIn(executionId, List.of("a@example.com")))
+                .thenReturn(List.of(row));
+
+        service.recordResults(executionId, List.of(new RecipientResultDto("a@example.com", true, "250 OK", 12)));
+
+        assertEquals(DeliveryStatus.SENT, row.getStatus());
+        assertEquals(1, row.getAttemptCount());
+        assertEquals(List.of(row), captureSaved());
+    }
+
+    private EmailDelivery delivery(String recipient, DeliveryStatus status) {
+        return new EmailDelivery(executionId, recipient, status);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EmailDelivery> captureSaved() {
+        ArgumentCaptor<List<EmailDelivery>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailDeliveryRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EmailDelivery> captureDeleted() {
+        ArgumentCaptor<List<EmailDelivery>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailDeliveryRepository).deleteAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static List<String> recipientsOf(List<EmailDelivery> deliveries) {
+        return deliveries.stream().map(EmailDelivery::getRecipient).toList();
+    }
+}
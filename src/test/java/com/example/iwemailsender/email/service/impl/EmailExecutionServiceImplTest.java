@@ -0,0 +1,110 @@
+package com.example.iwemailsender.email.service.impl;
+
+import com.example.iwemailsender.email.domain.EmailExecution;
+import com.example.iwemailsender.email.domain.EmailJob;
+import com.example.iwemailsender.email.dto.CursorPageDto;
+import com.example.iwemailsender.email.dto.EmailExecutionDto;
+import com.example.iwemailsender.email.dto.ExecutionFilterDto;
+import com.example.iwemailsender.email.mapper.EmailExecutionMapperImpl;
+import com.example.iwemailsender.email.repository.EmailExecutionRepository;
+import com.example.iwemailsender.email.repository.EmailJobRepository;
+import com.example.iwemailsender.email.service.EmailDeliveryService;
+import com.example.iwemailsender.infrastructure.enums.EmailStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailExecutionServiceImplTest {
+
+    private static final ExecutionFilterDto NO_FILTER = new ExecutionFilterDto(null, null, null, null);
+
+    private final EmailExecutionRepository emailExecutionRepository = mock(EmailExecutionRepository.class);
+    private final EmailJobRepository emailJobRepository = mock(EmailJobRepository.class);
+    private final EmailJob job = new EmailJob();
+    private EmailExecutionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EmailExecutionServiceImpl(emailExecutionRepository, new EmailExecutionMapperImpl(),
+                mock(EmailDeliveryService.class), mock(ExecutionLogWriter.class), emailJobRepository);
+        job.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void nextCursorResumesAfterTheLastRowOfThePage() {
+        List<EmailExecution> rows = executions(3);
+        when(emailExecutionRepository.findPage(any(), isNull(), isNull(), eq(3))).thenReturn(rows);
+
+        CursorPageDto<EmailExecutionDto> first = service.findPage(NO_FILTER, null, 2).orElseThrow();
+
+        assertEquals(2, first.getItems().size());
+        EmailExecution last = rows.get(1);
+        service.findPage(NO_FILTER, first.getNextCursor(), 2);
+        verify(emailExecutionRepository).findPage(NO_FILTER, last.getExecutedAt(), last.getId(), 3);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(emailExecutionRepository.findPage(any(), isNull(), isNull(), anyInt())).thenReturn(executions(2));
+
+        CursorPageDto<EmailExecutionDto> page = service.findPage(NO_FILTER, null, 2).orElseThrow();
+
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertEquals(job.getId(), page.getItems().get(0).getEmailJobId());
+    }
+
+    @Test
+    void invalidCursorIsRejectedWithoutQuerying() {
+        String notBase64 = "%%%";
+        String missingId = encode("2026-03-01T10:00");
+        String badTimestamp = encode("yesterday|" + UUID.randomUUID());
+
+        assertTrue(service.findPage(NO_FILTER, notBase64, 50).isEmpty());
+        assertTrue(service.findPage(NO_FILTER, missingId, 50).isEmpty());
+        assertTrue(service.findPage(NO_FILTER, badTimestamp, 50).isEmpty());
+        verify(emailExecutionRepository, never()).findPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        when(emailExecutionRepository.findPage(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        assertEquals(200, service.findPage(NO_FILTER, null, 10_000).orElseThrow().getSize());
+        assertEquals(1, service.findPage(NO_FILTER, null, 0).orElseThrow().getSize());
+    }
+
+    private List<EmailExecution> executions(int count) {
+        List<EmailExecution> rows = new ArrayList<>();
+        LocalDateTime executedAt = LocalDateTime.of(2026, 3, 1, 10, 0);
+        for (int i = 0; i < count; i++) {
+            EmailExecution execution = new EmailExecution(executedAt.minusMinutes(i), EmailStatus.SUCCESS, null, 0);
+            execution.setId(UUID.randomUUID());
+            execution.setEmailJob(job);
+            rows.add(execution);
+        }
+        return rows;
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
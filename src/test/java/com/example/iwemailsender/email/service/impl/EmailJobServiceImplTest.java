@@ -0,0 +1,244 @@
+package com.example.iwemailsender.email.service.impl;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import com.example.iwemailsender.email.domain.EmailJob;
+import com.example.iwemailsender.email.domain.User;
+import com.example.iwemailsender.email.dto.EmailJobDto;
+import com.example.iwemailsender.email.mapper.EmailJobMapperImpl;
+import com.example.iwemailsender.email.repository.EmailJobRepository;
+import com.example.iwemailsender.email.repository.EmailTemplateRepository;
+import com.example.iwemailsender.email.repository.UserRepository;
+import com.example.iwemailsender.email.scheduler.CronExpressionCache;
+import com.example.iwemailsender.email.scheduler.JobChangeNotifications;
+import com.example.iwemailsender.email.scheduler.JobTimeline;
+import com.example.iwemailsender.infrastructure.enums.MisfirePolicy;
+import com.example.iwemailsender.infrastructure.enums.RecurrencePattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailJobServiceImplTest {
+
+    private final EmailJobRepository emailJobRepository = mock(EmailJobRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final EmailSchedulerConfig config = new EmailSchedulerConfig();
+    private EmailJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        config.setNodeId("node-a");
+        service = new EmailJobServiceImpl(emailJobRepository, userRepository, new EmailJobMapperImpl(),
+                mock(EmailTemplateRepository.class), new JobTimeline(), config, new CronExpressionCache(),
+                mock(JobChangeNotifications.class));
+        when(emailJobRepository.save(any(EmailJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void completionIsDroppedOnceAnotherNodeHoldsTheLease() {
+        EmailJob job = leasedJob("node-b");
+
+        service.updateNextRunTime(job.getId(), LocalDateTime.now().plusDays(1));
+        service.scheduleRetry(job.getId(), 1, LocalDateTime.now().plusMinutes(5), UUID.randomUUID());
+
+        verify(emailJobRepository, never()).save(any(EmailJob.class));
+        assertEquals("node-b", job.getClaimedBy());
+    }
+
+    @Test
+    void completionByTheLeaseHolderClearsTheLease() {
+        EmailJob job = leasedJob("node-a");
+        LocalDateTime next = LocalDateTime.now().plusDays(1);
+
+        service.updateNextRunTime(job.getId(), next);
+
+        verify(emailJobRepository).save(job);
+        assertEquals(next, job.getNextRunTime());
+        assertNull(job.getClaimedBy());
+    }
+
+    @Test
+    void monthlyJobOnThe31stClampsInFebruaryAndReturnsToThe31st() {
+        config.setMisfirePolicy(MisfirePolicy.FIRE_ONCE);
+        int year = LocalDateTime.now().getYear() + 1;
+        EmailJobDto job = periodicJob(RecurrencePattern.MONTHLY, LocalDateTime.of(year, 1, 31, 9, 0));
+
+        job.setNextRunTime(job.getStartDate());
+        LocalDateTime february = service.calculateNextRunTime(job);
+        job.setNextRunTime(february);
+        LocalDateTime march = service.calculateNextRunTime(job);
+
+        assertEquals(YearMonth.of(year, 2).atEndOfMonth().atTime(9, 0), february);
+        assertEquals(LocalDateTime.of(year, 3, 31, 9, 0), march);
+    }
+
+    @Test
+    void fireAllReplaysMissedRunsOneByOne() {
+        config.setMisfirePolicy(MisfirePolicy.FIRE_ALL);
+        config.setMisfireMaxCatchUp(100);
+        LocalDateTime start = LocalDateTime.now().minusDays(10).minusHours(1).truncatedTo(ChronoUnit.MINUTES);
+        EmailJobDto job = periodicJob(RecurrencePattern.DAILY, start);
+        job.setNextRunTime(start);
+
+        assertEquals(start.plusDays(1), service.calculateNextRunTime(job));
+    }
+
+    @Test
+    void fireAllCatchUpIsBoundedByMisfireMaxCatchUp() {
+        config.setMisfirePolicy(MisfirePolicy.FIRE_ALL);
+        config.setMisfireMaxCatchUp(3);
+        LocalDateTime start = LocalDateTime.now().minusDays(10).minusHours(1).truncatedTo(ChronoUnit.MINUTES);
+        EmailJobDto job = periodicJob(RecurrencePattern.DAILY, start);
+        job.setNextRunTime(start);
+
+        // the first run after now is start + 11 days; at most three missed runs are replayed before it
+        assertEquals(start.plusDays(8), service.calculateNextRunTime(job));
+    }
+
+    @Test
+    void skipToNextResumesOnTheGridAfterNow() {
+        config.setMisfirePolicy(MisfirePolicy.SKIP_TO_NEXT);
+        LocalDateTime start = LocalDateTime.now().minusDays(10).minusHours(1).truncatedTo(ChronoUnit.MINUTES);
+        EmailJobDto job = periodicJob(RecurrencePattern.DAILY, start);
+        job.setNextRunTime(start);
+
+        LocalDateTime next = service.calculateNextRunTime(job);
+
+        assertEquals(start.plusDays(11), next);
+        assertTrue(next.isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void noRunAfterTheEndDate() {
+        config.setMisfirePolicy(MisfirePolicy.FIRE_ONCE);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MINUTES);
+        EmailJobDto job = periodicJob(RecurrencePattern.WEEKLY, start);
+        job.setNextRunTime(start);
+        job.setEndDate(start.plusDays(3));
+
+        assertNull(service.calculateNextRunTime(job));
+    }
+
+    @Test
+    void invalidCronIsRejectedOnSave() {
+        UUID userId = existingUser();
+
+        assertTrue(service.save(userId, cronJob("0 0 25 * * *", LocalDateTime.of(2030, 1, 7, 9, 0))).isEmpty());
+        assertTrue(service.save(userId, cronJob("  ", LocalDateTime.of(2030, 1, 7, 9, 0))).isEmpty());
+
+        verify(emailJobRepository, never()).save(any(EmailJob.class));
+    }
+
+    @Test
+    void invalidCronIsRejectedOnUpdate() {
+        UUID userId = existingUser();
+        EmailJob existing = leasedJob(null);
+        when(emailJobRepository.findById(existing.getId())).thenReturn(Optional.of(existing));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                service.update(existing.getId(), userId, cronJob("every monday", LocalDateTime.of(2030, 1, 7, 9, 0))));
+
+        verify(emailJobRepository, never()).save(any(EmailJob.class));
+    }
+
+    @Test
+    void firstCronFireIsAtOrAfterTheStartDate() {
+        UUID userId = existingUser();
+
+        // 2030-01-07 is a Monday
+        EmailJobDto onAFire = service.save(userId, cronJob("0 0 9 * * MON-FRI", LocalDateTime.of(2030, 1, 7, 9, 0))).orElseThrow();
+        EmailJobDto justAfter = service.save(userId, cronJob("0 0 9 * * MON-FRI", LocalDateTime.of(2030, 1, 7, 9, 1))).orElseThrow();
+        EmailJobDto onASaturday = service.save(userId, cronJob("0 0 9 * * MON-FRI", LocalDateTime.of(2030, 1, 12, 8, 0))).orElseThrow();
+
+        assertEquals(LocalDateTime.of(2030, 1, 7, 9, 0), onAFire.getNextRunTime());
+        assertEquals(LocalDateTime.of(2030, 1, 8, 9, 0), justAfter.getNextRunTime());
+        assertEquals(LocalDateTime.of(2030, 1, 14, 9, 0), onASaturday.getNextRunTime());
+    }
+
+    @Test
+    void fireAllWalksMissedCronFiresOneByOne() {
+        config.setMisfirePolicy(MisfirePolicy.FIRE_ALL);
+        config.setMisfireMaxCatchUp(10);
+        LocalDateTime planned = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(5);
+        EmailJobDto job = cronJob("0 0 * * * *", planned.minusDays(1));
+        job.setNextRunTime(planned);
+
+        assertEquals(planned.plusHours(1), service.calculateNextRunTime(job));
+    }
+
+    @Test
+    void cronBacklogBeyondTheCatchUpLimitResumesFromNow() {
+        config.setMisfirePolicy(MisfirePolicy.FIRE_ALL);
+        config.setMisfireMaxCatchUp(2);
+        LocalDateTime planned = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(5);
+        EmailJobDto job = cronJob("0 0 * * * *", planned.minusDays(1));
+        job.setNextRunTime(planned);
+
+        LocalDateTime next = service.calculateNextRunTime(job);
+
+        assertTrue(next.isAfter(LocalDateTime.now()));
+        assertEquals(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1), next);
+    }
+
+    @Test
+    void cronRunSkipsMissedFiresUnderFireOnce() {
+        config.setMisfirePolicy(MisfirePolicy.FIRE_ONCE);
+        LocalDateTime planned = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(5);
+        EmailJobDto job = cronJob("0 0 * * * *", planned.minusDays(1));
+        job.setNextRunTime(planned);
+
+        assertEquals(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1), service.calculateNextRunTime(job));
+    }
+
+    private UUID existingUser() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        return user.getId();
+    }
+
+    private static EmailJobDto cronJob(String expression, LocalDateTime startDate) {
+        EmailJobDto job = new EmailJobDto();
+        job.setId(UUID.randomUUID());
+        job.setRecurrencePattern(RecurrencePattern.CRON);
+        job.setCronExpression(expression);
+        job.setStartDate(startDate);
+        job.setSenderEmail("from@example.com");
+        job.setReceiverEmails("to@example.com");
+        job.setEnabled(true);
+        return job;
+    }
+
+    private static EmailJobDto periodicJob(RecurrencePattern pattern, LocalDateTime startDate) {
+        EmailJobDto job = new EmailJobDto();
+        job.setId(UUID.randomUUID());
+        job.setRecurrencePattern(pattern);
+        job.setStartDate(startDate);
+        job.setSendTime(startDate.toLocalTime());
+        return job;
+    }
+
+    private EmailJob leasedJob(String nodeId) {
+        EmailJob job = new EmailJob();
+        job.setId(UUID.randomUUID());
+        job.setNextRunTime(LocalDateTime.now().minusMinutes(1));
+        job.setClaimedBy(nodeId);
+        job.setLeaseUntil(LocalDateTime.now().plusMinutes(5));
+        when(emailJobRepository.findByIdForUpdate(job.getId())).thenReturn(Optional.of(job));
+        return job;
+    }
+}
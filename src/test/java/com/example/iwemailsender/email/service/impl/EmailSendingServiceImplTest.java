@@ -0,0 +1,82 @@
+package com.example.iwemailsender.email.service.impl;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import com.example.iwemailsender.email.dto.EmailJobDto;
+import com.example.iwemailsender.email.service.EmailDeliveryService;
+import com.example.iwemailsender.email.service.EmailExecutionService;
+import com.example.iwemailsender.email.service.EmailJobService;
+import com.example.iwemailsender.email.template.TemplateRenderCache;
+import com.example.iwemailsender.infrastructure.enums.MisfirePolicy;
+import com.example.iwemailsender.infrastructure.enums.SendOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailSendingServiceImplTest {
+
+    private final EmailJobService emailJobService = mock(EmailJobService.class);
+    private final EmailSchedulerConfig config = new EmailSchedulerConfig();
+    private EmailSendingServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        config.setMisfirePolicy(MisfirePolicy.SKIP_TO_NEXT);
+        config.setMisfireThresholdSeconds(60);
+        config.setMaxAttempts(3);
+        config.setDelaySeconds(30);
+        service = new EmailSendingServiceImpl(mock(JavaMailSender.class), config, mock(EmailExecutionService.class),
+                emailJobService, mock(EmailDeliveryService.class), mock(TemplateRenderCache.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void runLaterThanTheThresholdIsSkipped() throws Exception {
+        EmailJobDto job = job(LocalDateTime.now().minusMinutes(10));
+        LocalDateTime next = LocalDateTime.now().plusDays(1);
+        when(emailJobService.calculateNextRunTime(job)).thenReturn(next);
+
+        assertEquals(SendOutcome.SKIPPED_MISFIRE, service.sendEmailWithTemplate(job, "from@example.com", "to@example.com", null));
+
+        verify(emailJobService).updateNextRunTime(job.getId(), next);
+    }
+
+    @Test
+    void runWithinTheThresholdIsAttempted() throws Exception {
+        EmailJobDto job = job(LocalDateTime.now().minusSeconds(10));
+
+        // no template, so the attempt fails validation and is queued for a retry rather than skipped
+        assertEquals(SendOutcome.RETRY_SCHEDULED, service.sendEmailWithTemplate(job, "from@example.com", "to@example.com", null));
+
+        verify(emailJobService).scheduleRetry(eq(job.getId()), eq(1), any(LocalDateTime.class), any(UUID.class));
+        verify(emailJobService, never()).updateNextRunTime(any(), any());
+    }
+
+    @Test
+    void queuedRetryIsNeverSkipped() throws Exception {
+        EmailJobDto job = job(LocalDateTime.now().minusHours(1));
+        job.setAttemptCount(1);
+
+        assertEquals(SendOutcome.RETRY_SCHEDULED, service.sendEmailWithTemplate(job, "from@example.com", "to@example.com", null));
+
+        verify(emailJobService).scheduleRetry(eq(job.getId()), anyInt(), any(LocalDateTime.class), any(UUID.class));
+    }
+
+    private static EmailJobDto job(LocalDateTime nextRunTime) {
+        EmailJobDto job = new EmailJobDto();
+        job.setId(UUID.randomUUID());
+        job.setNextRunTime(nextRunTime);
+        return job;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.iwemailsender.email.service.impl;
+
+import com.example.iwemailsender.config.EmailSchedulerConfig;
+import com.example.iwemailsender.infrastructure.enums.EmailStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExecutionLogWriterTest {
+
+    private static final long WAIT_MS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final EmailSchedulerConfig config = new EmailSchedulerConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<UUID>> written = new CopyOnWriteArrayList<>();
+    private ExecutionLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        config.setExecutionLogBatchSize(3);
+        config.setExecutionLogQueueCapacity(3);
+        config.setExecutionLogFlushIntervalMs(60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void fullBatchIsWrittenWithoutWaitingForTheInterval() {
+        stubBatchUpdate(this::record);
+        writer = startedWriter();
+
+        List<UUID> ids = enqueue(3);
+
+        awaitTrue(() -> written.size() == 1);
+        assertEquals(List.of(ids), written);
+    }
+
+    @Test
+    void partialBatchIsWrittenAfterTheInterval() {
+        config.setExecutionLogFlushIntervalMs(50);
+        stubBatchUpdate(this::record);
+        writer = startedWriter();
+
+        List<UUID> ids = enqueue(2);
+
+        awaitTrue(() -> written.size() == 1);
+        assertEquals(List.of(ids), written);
+    }
+
+    @Test
+    void senderWritesInlineWhenTheQueueIsFull() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        stubBatchUpdate(invocation -> {
+            // hold the writer thread inside its first batch so the queue can fill up behind it
+            if (first.compareAndSet(true, false)) {
+                blocked.countDown();
+                release.await(WAIT_MS, TimeUnit.MILLISECONDS);
+            }
+            return record(invocation);
+        });
+        writer = startedWriter();
+
+        List<UUID> inFlight = enqueue(3);
+        assertTrue(blocked.await(WAIT_MS, TimeUnit.MILLISECONDS));
+        List<UUID> queued = enqueue(3);
+        List<UUID> overflow = enqueue(1);
+
+        assertEquals(List.of(overflow), written);
+        assertEquals(1.0, meterRegistry.counter("email.execution.log.inline.writes").count());
+        assertEquals(3, writer.getQueuedCount());
+
+        release.countDown();
+        awaitTrue(() -> written.size() == 3);
+        assertEquals(List.of(overflow, inFlight, queued), written);
+    }
+
+    @Test
+    void rowsAreWrittenInlineBeforeTheWriterStarts() {
+        stubBatchUpdate(this::record);
+        writer = new ExecutionLogWriter(jdbcTemplate, config, meterRegistry);
+
+        List<UUID> ids = enqueue(1);
+
+        assertEquals(List.of(ids), written);
+        assertEquals(0.0, meterRegistry.counter("email.execution.log.inline.writes").count());
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRowSoOnlyTheBadRowIsLost() {
+        UUID bad = UUID.randomUUID();
+        List<List<UUID>> attempted = new CopyOnWriteArrayList<>();
+        stubBatchUpdate(invocation -> {
+            List<UUID> ids = idsOf(invocation);
+            attempted.add(ids);
+            if (ids.contains(bad)) {
+                throw new DataIntegrityViolationException("insert violates foreign key constraint");
+            }
+            return record(invocation);
+        });
+        writer = startedWriter();
+
+        UUID before = enqueueOne();
+        writer.enqueue(bad, UUID.randomUUID(), EmailStatus.FAIL, "boom", 0, LocalDateTime.now());
+        UUID after = enqueueOne();
+
+        awaitTrue(() -> written.size() == 2);
+        assertEquals(List.of(List.of(before, bad, after), List.of(before), List.of(bad), List.of(after)), attempted);
+        assertEquals(List.of(List.of(before), List.of(after)), written);
+    }
+
+    @Test
+    void shutdownDrainsQueuedRows() {
+        config.setExecutionLogBatchSize(100);
+        config.setExecutionLogQueueCapacity(100);
+        stubBatchUpdate(this::record);
+        writer = startedWriter();
+
+        List<UUID> ids = enqueue(5);
+        assertTrue(written.isEmpty());
+
+        writer.stop();
+        writer = null;
+
+        assertEquals(ids, written.stream().flatMap(List::stream).toList());
+    }
+
+    private ExecutionLogWriter startedWriter() {
+        ExecutionLogWriter started = new ExecutionLogWriter(jdbcTemplate, config, meterRegistry);
+        started.start();
+        return started;
+    }
+
+    private List<UUID> enqueue(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(enqueueOne());
+        }
+        return ids;
+    }
+
+    private UUID enqueueOne() {
+        UUID id = UUID.randomUUID();
+        writer.enqueue(id, UUID.randomUUID(), EmailStatus.SUCCESS, null, 0, LocalDateTime.now());
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubBatchUpdate(Answer<int[][]> answer) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(answer);
+    }
+
+    private int[][] record(InvocationOnMock invocation) throws Exception {
+        written.add(idsOf(invocation));
+        return new int[0][];
+    }
+
+    /**
+     * Runs the writer's statement setter against a mock statement to read back the row ids,
+     * since the queued rows themselves are private to the writer.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<UUID> idsOf(InvocationOnMock invocation) throws Exception {
+        Collection<Object> rows = invocation.getArgument(1);
+        ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+        List<UUID> ids = new ArrayList<>();
+        PreparedStatement ps = mock(PreparedStatement.class);
+        doAnswer(set -> ids.add(set.getArgument(1))).when(ps).setObject(eq(1), any());
+        for (Object row : rows) {
+            setter.setValues(ps, row);
+        }
+        return ids;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within " + WAIT_MS + " ms");
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.iwemailsender.email.service.impl;
+
+import com.example.iwemailsender.email.domain.RefreshToken;
+import com.example.iwemailsender.email.domain.User;
+import com.example.iwemailsender.email.dto.AuthResponse;
+import com.example.iwemailsender.email.repository.RefreshTokenRepository;
+import com.example.iwemailsender.email.repository.UserRepository;
+import com.example.iwemailsender.security.jwt.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceImplTest {
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final Map<String, RefreshToken> tokensByHash = new HashMap<>();
+    private final User user = new User();
+    private RefreshTokenServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenServiceImpl(refreshTokenRepository, userRepository, jwtUtil);
+        ReflectionTestUtils.setField(service, "refreshExpirationMillis", 60_000L);
+
+        user.setId(UUID.randomUUID());
+        user.setUsername("alice");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(user)).thenReturn("access-token");
+
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId(UUID.randomUUID());
+            tokensByHash.put(token.getTokenHash(), token);
+            return token;
+        });
+        when(refreshTokenRepository.findByTokenHash(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(tokensByHash.get(invocation.<String>getArgument(0))));
+    }
+
+    @Test
+    void refreshRotatesTheToken() {
+        String first = service.issue(user.getId());
+
+        AuthResponse response = service.refresh(first).orElseThrow();
+
+        assertEquals("access-token", response.getToken());
+        assertNotEquals(first, response.getRefreshToken());
+        RefreshToken rotated = tokensByHash.values().stream()
+                .filter(token -> token.getRevokedAt() != null).findFirst().orElseThrow();
+        assertNotNull(rotated.getReplacedBy());
+        assertTrue(service.refresh(response.getRefreshToken()).isPresent());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesEveryTokenOfTheUser() {
+        String first = service.issue(user.getId());
+        service.refresh(first).orElseThrow();
+
+        assertTrue(service.refresh(first).isEmpty());
+
+        verify(refreshTokenRepository).revokeAllForUser(eq(user.getId()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String raw = service.issue(user.getId());
+        tokensByHash.values().forEach(token -> token.setExpiresAt(LocalDateTime.now().minusSeconds(1)));
+
+        assertTrue(service.refresh(raw).isEmpty());
+
+        verify(jwtUtil, never()).generateToken(any());
+        verify(refreshTokenRepository, never()).revokeAllForUser(any(), any());
+    }
+
+    @Test
+    void disabledUserCannotRefresh() {
+        String raw = service.issue(user.getId());
+        user.setEnabled(false);
+
+        assertTrue(service.refresh(raw).isEmpty());
+        assertTrue(service.refresh(raw).isEmpty());
+
+        verify(jwtUtil, never()).generateToken(any());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertTrue(service.refresh("not-a-token").isEmpty());
+        assertTrue(service.refresh(" ").isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.iwemailsender.email.service.impl;
+
+import com.example.iwemailsender.email.domain.Role;
+import com.example.iwemailsender.email.domain.User;
+import com.example.iwemailsender.email.dto.UserDto;
+import com.example.iwemailsender.email.mapper.UserMapperImpl;
+import com.example.iwemailsender.email.repository.RefreshTokenRepository;
+import com.example.iwemailsender.email.repository.RoleRepository;
+import com.example.iwemailsender.email.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RoleRepository roleRepository = mock(RoleRepository.class);
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final Role userRole = role("ROLE_USER");
+    private final Role adminRole = role("ROLE_ADMIN");
+    private final User user = new User();
+    private UserServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserServiceImpl(userRepository, roleRepository, NoOpPasswordEncoder.getInstance(),
+                new UserMapperImpl(), mock(ApplicationEventPublisher.class), refreshTokenRepository);
+
+        user.setId(UUID.randomUUID());
+        user.setUsername("alice");
+        user.setPassword("old");
+        user.setRoles(new ArrayList<>(List.of(userRole, adminRole)));
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(userRole));
+        when(roleRepository.findByName("ROLE_ADMIN")).thenReturn(Optional.of(adminRole));
+    }
+
+    @Test
+    void passwordChangeRevokesRefreshTokens() {
+        service.update(user.getId(), request("new", null));
+
+        verify(refreshTokenRepository).revokeAllForUser(eq(user.getId()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void droppingARoleOnUpdateRevokesRefreshTokens() {
+        service.update(user.getId(), request(null, List.of("ROLE_USER")));
+
+        verify(refreshTokenRepository).revokeAllForUser(eq(user.getId()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void updateThatKeepsCredentialsKeepsRefreshTokens() {
+        service.update(user.getId(), request(null, List.of("ROLE_USER", "ROLE_ADMIN")));
+
+        verify(refreshTokenRepository, never()).revokeAllForUser(any(), any());
+    }
+
+    @Test
+    void removeRoleRevokesRefreshTokens() {
+        service.removeRole(user.getId(), "ROLE_ADMIN");
+
+        verify(refreshTokenRepository).revokeAllForUser(eq(user.getId()), any(LocalDateTime.class));
+    }
+
+    private UserDto request(String password, List<String> roleNames) {
+        UserDto dto = new UserDto();
+        dto.setUsername(user.getUsername());
+        dto.setPassword(password);
+        dto.setEnabled(true);
+        dto.setRoleNames(roleNames);
+        return dto;
+    }
+
+    private static Role role(String name) {
+        Role role = new Role();
+        role.setId(UUID.randomUUID());
+        role.setName(name);
+        return role;
+    }
+}
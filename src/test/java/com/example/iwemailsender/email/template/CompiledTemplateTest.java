@@ -0,0 +1,76 @@
+package com.example.iwemailsender.email.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledTemplateTest {
+
+    @Test
+    void placeholdersAreReplacedAndLiteralsKept() {
+        CompiledTemplate template = CompiledTemplate.compile("Hi {{name}}, job {{ jobId }} ran on {{date}}.", false);
+
+        assertEquals("Hi Ann, job 42 ran on 2026-03-01.",
+                template.render(Map.of("name", "Ann", "jobId", "42", "date", "2026-03-01")));
+        assertEquals(Set.of("name", "jobId", "date"), template.getVariables());
+    }
+
+    @Test
+    void textWithoutPlaceholdersRendersAsIs() {
+        assertEquals("plain text", CompiledTemplate.compile("plain text", true).render(Map.of()));
+        assertEquals("", CompiledTemplate.compile(null, true).render(Map.of()));
+    }
+
+    @Test
+    void bracesThatAreNotPlaceholdersAreKept() {
+        CompiledTemplate template = CompiledTemplate.compile("{{ 1 + 1 }} {{}} {{name}} {{unclosed", false);
+
+        assertEquals("{{ 1 + 1 }} {{}} Ann {{unclosed", template.render(Map.of("name", "Ann")));
+        assertEquals(Set.of("name"), template.getVariables());
+    }
+
+    @Test
+    void unknownVariablesRenderEmpty() {
+        CompiledTemplate template = CompiledTemplate.compile("[{{missing}}]({{name}})", false);
+
+        assertEquals("[](Ann)", template.render(Map.of("name", "Ann")));
+    }
+
+    @Test
+    void valuesAreHtmlEscapedInBodies() {
+        CompiledTemplate body = CompiledTemplate.compile("<p>{{name}}</p>", true);
+
+        assertEquals("<p>&lt;script&gt;alert(&quot;x&quot;)&lt;/script&gt; &amp; &#39;co&#39;</p>",
+                body.render(Map.of("name", "<script>alert(\"x\")</script> & 'co'")));
+    }
+
+    @Test
+    void literalMarkupIsNotEscaped() {
+        CompiledTemplate body = CompiledTemplate.compile("<b>{{name}}</b>", true);
+
+        assertEquals("<b>Ann</b>", body.render(Map.of("name", "Ann")));
+    }
+
+    @Test
+    void subjectsAreNotEscaped() {
+        CompiledTemplate subject = CompiledTemplate.compile("Report for {{name}}", false);
+
+        assertEquals("Report for Smith & Sons", subject.render(Map.of("name", "Smith & Sons")));
+    }
+
+    @Test
+    void recipientVariablesMakeATemplatePersonalized() {
+        CompiledEmailTemplate shared = new CompiledEmailTemplate(null, null,
+                CompiledTemplate.compile("Hi", false), CompiledTemplate.compile("{{date}}", true));
+        CompiledEmailTemplate personal = new CompiledEmailTemplate(null, null,
+                CompiledTemplate.compile("Hi {{recipientName}}", false), CompiledTemplate.compile("{{date}}", true));
+
+        assertFalse(shared.isPersonalized());
+        assertTrue(personal.isPersonalized());
+    }
+}
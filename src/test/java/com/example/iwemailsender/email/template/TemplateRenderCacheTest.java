@@ -0,0 +1,71 @@
+package com.example.iwemailsender.email.template;
+
+import com.example.iwemailsender.email.domain.EmailTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TemplateRenderCacheTest {
+
+    private final TemplateRenderCache cache = new TemplateRenderCache();
+
+    @Test
+    void unchangedTemplateIsCompiledOnce() {
+        EmailTemplate template = template("Hello {{name}}", LocalDateTime.of(2026, 3, 1, 10, 0));
+
+        assertSame(cache.get(template), cache.get(template));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void newerUpdatedAtRecompiles() {
+        EmailTemplate template = template("Hello {{name}}", LocalDateTime.of(2026, 3, 1, 10, 0));
+        CompiledEmailTemplate before = cache.get(template);
+
+        // an edit saved on another node: same id, new body and timestamp
+        template.setBody("Goodbye {{name}}");
+        template.setUpdatedAt(LocalDateTime.of(2026, 3, 1, 11, 0));
+        CompiledEmailTemplate after = cache.get(template);
+
+        assertNotSame(before, after);
+        assertEquals("Goodbye Ann", after.getBody().render(Map.of("name", "Ann")));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void invalidateDropsTheEntry() {
+        EmailTemplate template = template("Hello", LocalDateTime.of(2026, 3, 1, 10, 0));
+        CompiledEmailTemplate before = cache.get(template);
+
+        cache.invalidate(template.getId());
+
+        assertEquals(0, cache.size());
+        assertNotSame(before, cache.get(template));
+    }
+
+    @Test
+    void unsavedTemplateIsNotCached() {
+        EmailTemplate template = template("Hello", null);
+        template.setId(null);
+
+        cache.get(template);
+
+        assertEquals(0, cache.size());
+    }
+
+    private static EmailTemplate template(String body, LocalDateTime updatedAt) {
+        EmailTemplate template = new EmailTemplate();
+        template.setId(UUID.randomUUID());
+        template.setName("report");
+        template.setSubject("Report");
+        template.setBody(body);
+        template.setUpdatedAt(updatedAt);
+        return template;
+    }
+}
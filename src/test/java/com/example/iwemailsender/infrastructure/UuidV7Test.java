@@ -0,0 +1,96 @@
+package com.example.iwemailsender.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7Test {
+
+    private static final long NOW = 1_767_225_600_000L; // 2026-01-01T00:00:00Z
+
+    private final AtomicLong state = new AtomicLong();
+
+    @Test
+    void carriesVersionVariantAndTimestamp() {
+        UUID id = UuidV7.generate(state, NOW);
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(NOW, timestamp(id));
+        assertEquals(0, counter(id));
+    }
+
+    @Test
+    void idsWithinOneMillisecondAreStrictlyIncreasing() {
+        List<UUID> ids = generate(100, NOW);
+
+        assertIncreasing(ids);
+        assertTrue(ids.stream().allMatch(id -> timestamp(id) == NOW));
+        assertEquals(99, counter(ids.get(99)));
+    }
+
+    @Test
+    void fullCounterBorrowsTheNextMillisecond() {
+        List<UUID> ids = generate(4097, NOW);
+
+        assertEquals(NOW, timestamp(ids.get(4095)));
+        assertEquals(0xFFF, counter(ids.get(4095)));
+        assertEquals(NOW + 1, timestamp(ids.get(4096)));
+        assertEquals(0, counter(ids.get(4096)));
+        assertIncreasing(ids);
+
+        // the real clock catching up must not reissue the borrowed slot
+        UUID next = UuidV7.generate(state, NOW + 1);
+        assertEquals(NOW + 1, timestamp(next));
+        assertEquals(1, counter(next));
+    }
+
+    @Test
+    void clockStepBackDoesNotBreakOrdering() {
+        UUID first = UuidV7.generate(state, NOW);
+        UUID second = UuidV7.generate(state, NOW - 5_000);
+
+        assertIncreasing(List.of(first, second));
+        assertEquals(NOW, timestamp(second));
+    }
+
+    @Test
+    void sharedGeneratorIsIncreasing() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            ids.add(UuidV7.generate());
+        }
+
+        assertIncreasing(ids);
+    }
+
+    private List<UUID> generate(int count, long nowMillis) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(UuidV7.generate(state, nowMillis));
+        }
+        return ids;
+    }
+
+    // Postgres orders uuid columns byte by byte, which is the order of the hex strings
+    private static void assertIncreasing(List<UUID> ids) {
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0,
+                    ids.get(i - 1) + " should sort before " + ids.get(i));
+        }
+    }
+
+    private static long timestamp(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static long counter(UUID id) {
+        return id.getMostSignificantBits() & 0xFFFL;
+    }
+}
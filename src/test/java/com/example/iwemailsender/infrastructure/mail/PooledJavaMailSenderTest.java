@@ -0,0 +1,65 @@
+package com.example.iwemailsender.infrastructure.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PooledJavaMailSenderTest {
+
+    private final List<Transport> opened = new ArrayList<>();
+    private final PooledJavaMailSender mailSender = new PooledJavaMailSender(2, 100, 60_000, 50) {
+        @Override
+        protected Transport connectTransport() {
+            Transport transport = mock(Transport.class);
+            when(transport.isConnected()).thenReturn(true);
+            opened.add(transport);
+            return transport;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        mailSender.destroy();
+    }
+
+    @Test
+    void connectionIsReturnedAfterASuccessfulCallback() throws Exception {
+        mailSender.execute(transport -> "250 OK");
+        mailSender.execute(transport -> "250 OK");
+
+        assertEquals(1, opened.size());
+        assertEquals(1, mailSender.getIdleConnectionCount());
+    }
+
+    @Test
+    void connectionThatStillAnswersIsReturnedAfterAFailure() throws Exception {
+        assertThrows(MessagingException.class, () -> mailSender.execute(transport -> {
+            throw new MessagingException("550 mailbox unavailable");
+        }));
+
+        verify(opened.get(0), never()).close();
+        assertEquals(1, mailSender.getIdleConnectionCount());
+    }
+
+    @Test
+    void deadConnectionIsDroppedAfterAFailure() throws Exception {
+        assertThrows(MessagingException.class, () -> mailSender.execute(transport -> {
+            when(transport.getTransport().isConnected()).thenReturn(false);
+            throw new MessagingException("421 closing connection");
+        }));
+
+        verify(opened.get(0)).close();
+        assertEquals(0, mailSender.getIdleConnectionCount());
+    }
+}
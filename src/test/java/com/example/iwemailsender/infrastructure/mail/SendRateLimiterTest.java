@@ -0,0 +1,92 @@
+package com.example.iwemailsender.infrastructure.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SendRateLimiterTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void burstIsServedWithoutWaiting() {
+        SendRateLimiter limiter = limiter(60, 3, 0, 0);
+
+        assertEquals(0, limiter.reserve("account", "example.com", 1));
+        assertEquals(0, limiter.reserve("account", "example.com", 2));
+        assertEquals(0, limiter.getThrottled());
+    }
+
+    @Test
+    void emptyBucketMakesCallersQueueInReservationOrder() {
+        SendRateLimiter limiter = limiter(60, 1, 0, 0);
+        limiter.reserve("account", "example.com", 1);
+
+        assertEquals(ONE_SECOND, limiter.reserve("account", "example.com", 1));
+        assertEquals(2 * ONE_SECOND, limiter.reserve("account", "example.com", 1));
+        assertEquals(2, limiter.getThrottled());
+        assertEquals(2000, limiter.getMaxWaitMillis());
+    }
+
+    @Test
+    void bucketRefillsWithTimeUpToItsBurst() {
+        SendRateLimiter limiter = limiter(60, 2, 0, 0);
+        limiter.reserve("account", "example.com", 2);
+
+        clock.addAndGet(10 * ONE_SECOND);
+
+        assertEquals(0, limiter.reserve("account", "example.com", 2));
+        assertEquals(ONE_SECOND, limiter.reserve("account", "example.com", 1));
+    }
+
+    @Test
+    void slowerDomainBucketDecidesTheWait() {
+        SendRateLimiter limiter = limiter(600, 1, 60, 1);
+        limiter.reserve("account", "example.com", 1);
+
+        assertEquals(ONE_SECOND, limiter.reserve("account", "example.com", 1));
+        assertEquals(0, limiter.reserve("other-account", "example.org", 1));
+        assertEquals(4, limiter.getBucketCount());
+    }
+
+    @Test
+    void interruptedAcquireRefundsItsPermits() {
+        SendRateLimiter limiter = limiter(60, 1, 0, 0);
+        limiter.reserve("account", "example.com", 1);
+
+        Thread.currentThread().interrupt();
+        assertThrows(MailSendException.class, () -> limiter.acquire("account", "example.com", 1));
+        assertTrue(Thread.interrupted());
+
+        assertEquals(1, limiter.getAcquired());
+        assertEquals(ONE_SECOND, limiter.reserve("account", "example.com", 1));
+    }
+
+    @Test
+    void refundNeverOverfillsTheBucket() {
+        SendRateLimiter limiter = limiter(60, 1, 0, 0);
+
+        limiter.refund("account", "example.com", 5);
+
+        assertEquals(0, limiter.reserve("account", "example.com", 1));
+        assertEquals(ONE_SECOND, limiter.reserve("account", "example.com", 1));
+    }
+
+    private SendRateLimiter limiter(int accountPerMinute, int accountBurst, int domainPerMinute, int domainBurst) {
+        return new SendRateLimiter(accountPerMinute, accountBurst, domainPerMinute, domainBurst, clock::get);
+    }
+}
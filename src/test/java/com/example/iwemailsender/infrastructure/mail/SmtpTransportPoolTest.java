@@ -0,0 +1,139 @@
+package com.example.iwemailsender.infrastructure.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SmtpTransportPoolTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final List<Transport> opened = new ArrayList<>();
+
+    @Test
+    void borrowWaitsForTheBoundAndTimesOut() throws Exception {
+        SmtpTransportPool pool = pool(1, 100, 60_000);
+        SmtpTransportPool.PooledTransport first = pool.borrow();
+
+        assertThrows(MessagingException.class, pool::borrow);
+
+        pool.release(first, false);
+        assertSame(first, pool.borrow());
+        assertEquals(1, opened.size());
+    }
+
+    @Test
+    void recentlyUsedConnectionIsReusedWithoutNoop() throws Exception {
+        SmtpTransportPool pool = pool(2, 100, 60_000);
+        SmtpTransportPool.PooledTransport transport = pool.borrow();
+        pool.release(transport, false);
+
+        clock.addAndGet(1_000);
+        pool.borrow();
+
+        verify(opened.get(0), never()).isConnected();
+    }
+
+    @Test
+    void idleConnectionIsValidatedWithNoopAndReplacedWhenDead() throws Exception {
+        SmtpTransportPool pool = pool(2, 100, 60_000);
+        SmtpTransportPool.PooledTransport transport = pool.borrow();
+        pool.release(transport, false);
+        when(opened.get(0).isConnected()).thenReturn(false);
+
+        clock.addAndGet(10_000);
+        SmtpTransportPool.PooledTransport next = pool.borrow();
+
+        verify(opened.get(0)).isConnected();
+        verify(opened.get(0)).close();
+        assertSame(opened.get(1), next.getTransport());
+    }
+
+    @Test
+    void idleConnectionThatAnswersNoopIsReused() throws Exception {
+        SmtpTransportPool pool = pool(2, 100, 60_000);
+        SmtpTransportPool.PooledTransport transport = pool.borrow();
+        pool.release(transport, false);
+        when(opened.get(0).isConnected()).thenReturn(true);
+
+        clock.addAndGet(10_000);
+
+        assertSame(transport, pool.borrow());
+        assertEquals(1, opened.size());
+    }
+
+    @Test
+    void connectionIsRetiredAfterMaxMessages() throws Exception {
+        SmtpTransportPool pool = pool(2, 2, 60_000);
+        SmtpTransportPool.PooledTransport transport = pool.borrow();
+        transport.send(mock(MimeMessage.class), new Address[0]);
+        transport.send(mock(MimeMessage.class), new Address[0]);
+
+        pool.release(transport, false);
+
+        verify(opened.get(0)).close();
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    void brokenConnectionIsClosedInsteadOfReturned() throws Exception {
+        SmtpTransportPool pool = pool(1, 100, 60_000);
+        SmtpTransportPool.PooledTransport transport = pool.borrow();
+
+        pool.release(transport, true);
+
+        verify(opened.get(0)).close();
+        assertEquals(0, pool.getIdleCount());
+        pool.borrow();
+        assertEquals(2, opened.size());
+    }
+
+    @Test
+    void evictionClosesConnectionsPastTheIdleTimeout() throws Exception {
+        SmtpTransportPool pool = pool(2, 100, 30_000);
+        SmtpTransportPool.PooledTransport stale = pool.borrow();
+        SmtpTransportPool.PooledTransport fresh = pool.borrow();
+        pool.release(stale, false);
+        clock.addAndGet(20_000);
+        pool.release(fresh, false);
+        clock.addAndGet(15_000);
+
+        pool.evictIdle();
+
+        verify(stale.getTransport()).close();
+        verify(fresh.getTransport(), never()).close();
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void failedConnectDoesNotLeakAPermit() throws Exception {
+        SmtpTransportPool pool = new SmtpTransportPool(() -> {
+            throw new MessagingException("connection refused");
+        }, 1, 100, 60_000, 50, clock::get);
+
+        assertThrows(MessagingException.class, pool::borrow);
+        MessagingException second = assertThrows(MessagingException.class, pool::borrow);
+        assertEquals("connection refused", second.getMessage());
+    }
+
+    private SmtpTransportPool pool(int maxSize, int maxMessages, long idleTimeoutMillis) {
+        return new SmtpTransportPool(() -> {
+            Transport transport = mock(Transport.class);
+            opened.add(transport);
+            return transport;
+        }, maxSize, maxMessages, idleTimeoutMillis, 50, clock::get);
+    }
+}
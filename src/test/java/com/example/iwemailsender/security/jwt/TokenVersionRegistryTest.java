@@ -0,0 +1,56 @@
+package com.example.iwemailsender.security.jwt;
+
+import com.example.iwemailsender.email.domain.User;
+import com.example.iwemailsender.email.repository.UserRepository;
+import com.example.iwemailsender.security.event.UserChangedEvent;
+import com.example.iwemailsender.security.service.UserCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenVersionRegistryTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final User user = new User();
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenVersionRegistry(new UserCache(userRepository, 100, 300));
+        user.setId(UUID.randomUUID());
+        user.setUsername("alice");
+        user.setTokenVersion(3);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void tokenRevokedOnAnotherNodeIsRejected() {
+        // no event on this node: the bumped version is only visible in the database
+        assertFalse(registry.isCurrent("alice", 2));
+        assertTrue(registry.isCurrent("alice", 3));
+    }
+
+    @Test
+    void disabledOrDeletedUserIsRejected() {
+        user.setEnabled(false);
+        assertFalse(registry.isCurrent("alice", 3));
+
+        assertFalse(registry.isCurrent("bob", 0));
+    }
+
+    @Test
+    void localChangeTakesEffectBeforeTheCacheExpires() {
+        assertTrue(registry.isCurrent("alice", 3));
+
+        registry.onUserChanged(new UserChangedEvent(user.getId(), "alice", 4, false));
+
+        assertFalse(registry.isCurrent("alice", 3));
+    }
+}